@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load-test harness for {@link GlyphsServer}: fires a mix of search, metadata
+ * and image requests from many concurrent clients and prints throughput and
+ * latency percentiles.
+ * <pre>
+ * GlyphsServerLoadTest [baseUrl|-] [concurrency] [requests]
+ * </pre>
+ * Without a base URL (or with "-") an in-process server on a free port is used.
+ *
+ * @author agent
+ */
+public class GlyphsServerLoadTest {
+
+    private final static String[] SEARCHES = {"arr", "arrow", "file", "user", "cloud", "chevron", "a", "sun", "star", "x"};
+    private final static String[] GLYPHS = {
+        "FontAwesomeIcon/SAVE", "FontAwesomeIcon/USER", "FontAwesomeIcon/ARROW_UP", "MaterialDesignIcon/ACCOUNT",
+        "MaterialDesignIcon/CONTENT_SAVE", "MaterialIcon/HOME", "OctIcon/MARK_GITHUB", "WeatherIcon/DAY_SUNNY", "Icons525/AMAZON"};
+    private final static int[] SIZES = {16, 24, 32, 48, 64, 128, 256};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "-";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+
+        GlyphsServer server = null;
+        if ("-".equals(baseUrl)) {
+            System.setProperty("java.awt.headless", "true");
+            server = new GlyphsServer(0);
+            server.start();
+            baseUrl = "http://127.0.0.1:" + server.getPort();
+        }
+
+        // warm up the JIT and the image cache a bit before measuring
+        run(baseUrl, Math.min(concurrency, 16), Math.min(requests, 2000));
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        AtomicInteger next = run(baseUrl, concurrency, requests, latencies, errors);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%d requests, %d concurrent clients, %d errors%n", next.get(), concurrency, errors.get());
+        System.out.printf("throughput : %.0f req/s%n", requests / (elapsed / 1e9));
+        System.out.printf("latency    : p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99), latencies[latencies.length - 1] / 1e6);
+        if (server != null) {
+            System.out.printf("image cache: %d entries, %d bytes, %d hits, %d misses%n", server.getImageCache().size(),
+                    server.getImageCache().getBytes(), server.getImageCache().getHits(), server.getImageCache().getMisses());
+            server.stop();
+        }
+    }
+
+    private static void run(String baseUrl, int concurrency, int requests) throws InterruptedException {
+        run(baseUrl, concurrency, requests, new long[requests], new AtomicInteger());
+    }
+
+    private static AtomicInteger run(String baseUrl, int concurrency, int requests, long[] latencies, AtomicInteger errors) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int client = 0; client < concurrency; client++) {
+            Random random = new Random(client);
+            clients.execute(() -> {
+                int request;
+                while ((request = next.getAndIncrement()) < requests) {
+                    String url = baseUrl + randomPath(random);
+                    long start = System.nanoTime();
+                    try {
+                        fetch(url);
+                    } catch (IOException ex) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[request] = System.nanoTime() - start;
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.HOURS);
+        next.set(Math.min(next.get(), requests));
+        return next;
+    }
+
+    private static String randomPath(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return "/search?q=" + SEARCHES[random.nextInt(SEARCHES.length)];
+            case 1:
+                return "/glyphs/" + GLYPHS[random.nextInt(GLYPHS.length)];
+            default:
+                return "/glyphs/" + GLYPHS[random.nextInt(GLYPHS.length)] + ".png?size=" + SIZES[random.nextInt(SIZES.length)];
+        }
+    }
+
+    private static void fetch(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            byte[] buffer = new byte[8192];
+            while (in != null && in.read(buffer) >= 0) {
+                // drain, so the connection can be reused
+            }
+        }
+        if (status >= 400) {
+            throw new IOException(url + " returned " + status);
+        }
+    }
+
+    private static double percentile(long[] sortedLatencies, int percentile) {
+        int index = Math.min(sortedLatencies.length - 1, sortedLatencies.length * percentile / 100);
+        return sortedLatencies[index] / 1e6;
+    }
+
+}
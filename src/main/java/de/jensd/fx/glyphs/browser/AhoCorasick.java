@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over the bytes of ASCII patterns, compiled into a
+ * deterministic transition table so that scanning costs one table lookup
+ * per input byte, regardless of the number of patterns.
+ * <p>
+ * Bytes that occur in no pattern share one column of the table, which keeps
+ * the table small for patterns made of identifier characters.
+ *
+ * @author agent
+ */
+public class AhoCorasick {
+
+    public interface MatchHandler {
+
+        /**
+         * @param pattern the index of the matched pattern
+         * @param end the position after the last byte of the match
+         */
+        void onMatch(int pattern, int end);
+    }
+
+    private final int[] byteClasses = new int[256];
+    private final int alphabetSize;
+    private final int[] transitions;
+    // the pattern ending in a state or -1, and the next state on the suffix chain that ends a pattern or 0
+    private final int[] matches;
+    private final int[] matchLinks;
+    private final int[] patternLengths;
+
+    /**
+     * @param patterns the ASCII patterns, the index in the list is the pattern
+     * reported on a match
+     */
+    public AhoCorasick(List<String> patterns) {
+        byte[][] patternBytes = new byte[patterns.size()][];
+        int maxStates = 1;
+        int classes = 1;
+        for (int i = 0; i < patterns.size(); i++) {
+            patternBytes[i] = patterns.get(i).getBytes(StandardCharsets.US_ASCII);
+            if (patternBytes[i].length == 0) {
+                throw new IllegalArgumentException("Empty pattern at " + i);
+            }
+            maxStates += patternBytes[i].length;
+            for (byte b : patternBytes[i]) {
+                if (byteClasses[b & 0xFF] == 0) {
+                    byteClasses[b & 0xFF] = classes++;
+                }
+            }
+        }
+        alphabetSize = classes;
+        patternLengths = new int[patterns.size()];
+
+        // trie, 0 is the root and no transition
+        int[] trie = new int[maxStates * alphabetSize];
+        int[] trieMatches = new int[maxStates];
+        Arrays.fill(trieMatches, -1);
+        int states = 1;
+        for (int i = 0; i < patternBytes.length; i++) {
+            int state = 0;
+            for (byte b : patternBytes[i]) {
+                int index = state * alphabetSize + byteClasses[b & 0xFF];
+                if (trie[index] == 0) {
+                    trie[index] = states++;
+                }
+                state = trie[index];
+            }
+            if (trieMatches[state] < 0) {
+                trieMatches[state] = i;
+            }
+            patternLengths[i] = patternBytes[i].length;
+        }
+
+        // breadth first over the trie, filling missing transitions from the failure state
+        transitions = Arrays.copyOf(trie, states * alphabetSize);
+        matches = Arrays.copyOf(trieMatches, states);
+        matchLinks = new int[states];
+        int[] failures = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < alphabetSize; c++) {
+            if (transitions[c] != 0) {
+                queue[tail++] = transitions[c];
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int c = 0; c < alphabetSize; c++) {
+                int index = state * alphabetSize + c;
+                int next = transitions[index];
+                int fallback = transitions[failures[state] * alphabetSize + c];
+                if (next == 0) {
+                    transitions[index] = fallback;
+                } else {
+                    failures[next] = fallback;
+                    matchLinks[next] = matches[fallback] >= 0 ? fallback : matchLinks[fallback];
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    public int getNumberOfStates() {
+        return matches.length;
+    }
+
+    public int getPatternLength(int pattern) {
+        return patternLengths[pattern];
+    }
+
+    /**
+     * Scans the remaining bytes of the buffer without changing its position.
+     *
+     * @param buffer the input
+     * @param handler called for every occurrence of every pattern, overlapping
+     * ones included
+     */
+    public void scan(ByteBuffer buffer, MatchHandler handler) {
+        int state = 0;
+        for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++) {
+            state = transitions[state * alphabetSize + byteClasses[buffer.get(i) & 0xFF]];
+            if (matches[state] >= 0 || matchLinks[state] != 0) {
+                for (int match = matches[state] >= 0 ? state : matchLinks[state]; match != 0; match = matchLinks[match]) {
+                    handler.onMatch(matches[match], i + 1);
+                }
+            }
+        }
+    }
+
+}
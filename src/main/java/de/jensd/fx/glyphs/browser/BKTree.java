@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Burkhard-Keller tree over 64 bit hashes using the hamming distance, for
+ * "everything within distance n" queries without comparing against every
+ * hash.
+ *
+ * @author agent
+ * @param <T> the values stored with the hashes
+ */
+public class BKTree<T> {
+
+    public static class Match<T> {
+
+        private final T value;
+        private final int distance;
+
+        Match(T value, int distance) {
+            this.value = value;
+            this.distance = distance;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+
+    private static class Node<T> {
+
+        private final long hash;
+        private final List<T> values = new ArrayList<>(1);
+        // a hamming distance of 64 bit hashes is within 0..64
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private final Node<T>[] children = new Node[Long.SIZE + 1];
+
+        Node(long hash) {
+            this.hash = hash;
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+
+    public void add(long hash, T value) {
+        size++;
+        if (root == null) {
+            root = new Node<>(hash);
+            root.values.add(value);
+            return;
+        }
+        Node<T> node = root;
+        while (true) {
+            int distance = PerceptualHash.distance(node.hash, hash);
+            if (distance == 0) {
+                node.values.add(value);
+                return;
+            }
+            Node<T> child = node.children[distance];
+            if (child == null) {
+                child = new Node<>(hash);
+                child.values.add(value);
+                node.children[distance] = child;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * @param hash the hash to search for
+     * @param maxDistance the maximum hamming distance, inclusive
+     * @return all values within the distance, in no particular order
+     */
+    public List<Match<T>> search(long hash, int maxDistance) {
+        List<Match<T>> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node<T>> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node<T> node = pending.pop();
+            int distance = PerceptualHash.distance(node.hash, hash);
+            if (distance <= maxDistance) {
+                for (T value : node.values) {
+                    matches.add(new Match<>(value, distance));
+                }
+            }
+            int from = Math.max(1, distance - maxDistance);
+            int to = Math.min(Long.SIZE, distance + maxDistance);
+            for (int i = from; i <= to; i++) {
+                if (node.children[i] != null) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+}
@@ -0,0 +1,432 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * A TrueType or OpenType font file without an icon enum, e.g. an icon font
+ * build dropped into the custom fonts directory.
+ * <p>
+ * Only the tables needed to list the glyphs are read: {@code cmap} for the
+ * code points, {@code post} for the glyph names, {@code name} for family and
+ * version and the glyph outlines ({@code glyf} or the CFF charstrings) for a
+ * fingerprint of every glyph, so two versions of a font can be compared with
+ * {@link #diff(CustomFont)}.
+ *
+ * @author agent
+ */
+public class CustomFont {
+
+    private final static int CFF_CHARSTRINGS = 17;
+    private final static int MAX_DIFF_DETAILS = 20;
+
+    public static class Glyph {
+
+        private final int codePoint;
+        private final String name;
+        private final long fingerprint;
+
+        Glyph(int codePoint, String name, long fingerprint) {
+            this.codePoint = codePoint;
+            this.name = name;
+            this.fingerprint = fingerprint;
+        }
+
+        public int getCodePoint() {
+            return codePoint;
+        }
+
+        /**
+         * @return the name of the glyph in the font or "uXXXX"
+         */
+        public String getName() {
+            return name;
+        }
+
+        public String getUnicode() {
+            return new String(Character.toChars(codePoint));
+        }
+
+        public long getFingerprint() {
+            return fingerprint;
+        }
+    }
+
+    /**
+     * The code points added, removed and with changed outlines between two
+     * versions of a font.
+     */
+    public static class Diff {
+
+        private final SortedSet<Integer> added;
+        private final SortedSet<Integer> removed;
+        private final SortedSet<Integer> changed;
+
+        Diff(SortedSet<Integer> added, SortedSet<Integer> removed, SortedSet<Integer> changed) {
+            this.added = Collections.unmodifiableSortedSet(added);
+            this.removed = Collections.unmodifiableSortedSet(removed);
+            this.changed = Collections.unmodifiableSortedSet(changed);
+        }
+
+        public SortedSet<Integer> getAdded() {
+            return added;
+        }
+
+        public SortedSet<Integer> getRemoved() {
+            return removed;
+        }
+
+        public SortedSet<Integer> getChanged() {
+            return changed;
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d added%s, %d removed%s, %d changed%s",
+                    added.size(), details(added), removed.size(), details(removed), changed.size(), details(changed));
+        }
+
+        private static String details(Collection<Integer> codePoints) {
+            if (codePoints.isEmpty()) {
+                return "";
+            }
+            return codePoints.stream().limit(MAX_DIFF_DETAILS)
+                    .map(codePoint -> String.format("U+%04X", codePoint))
+                    .collect(Collectors.joining(" ", " (", codePoints.size() > MAX_DIFF_DETAILS ? " ...)" : ")"));
+        }
+    }
+
+    private final Path file;
+    private final long lastModified;
+    private final long size;
+    private final String family;
+    private final String fullName;
+    private final String version;
+    private final TreeMap<Integer, Glyph> glyphs = new TreeMap<>();
+
+    private CustomFont(Path file, BasicFileAttributes attributes, ByteBuffer font) throws IOException {
+        this.file = file;
+        this.lastModified = attributes.lastModifiedTime().toMillis();
+        this.size = attributes.size();
+        TrueTypeFont trueTypeFont;
+        Map<Integer, Integer> characterMap;
+        try {
+            trueTypeFont = new TrueTypeFont(font);
+            characterMap = trueTypeFont.getCharacterMap();
+        } catch (IOException ex) {
+            throw new IOException(ex.getMessage() + ": " + file, ex);
+        }
+        Map<String, ByteBuffer> tables = trueTypeFont.getTables();
+        ByteBuffer name = tables.get("name");
+        String fileName = file.getFileName().toString();
+        String typographicFamily = name != null ? name(name, 16) : null;
+        String fontFamily = name != null ? name(name, 1) : null;
+        this.family = typographicFamily != null ? typographicFamily : fontFamily != null ? fontFamily : fileName;
+        String fontFullName = name != null ? name(name, 4) : null;
+        this.fullName = fontFullName != null ? fontFullName : family;
+        String fontVersion = name != null ? name(name, 5) : null;
+        this.version = fontVersion != null ? fontVersion : "";
+
+        int numGlyphs = trueTypeFont.getNumGlyphs();
+        String[] glyphNames = tables.containsKey("post") ? glyphNames(tables.get("post"), numGlyphs) : new String[numGlyphs];
+        ByteBuffer[] outlines = outlines(tables, numGlyphs);
+        Set<String> usedNames = new HashSet<>();
+        for (Map.Entry<Integer, Integer> mapping : characterMap.entrySet()) {
+            int codePoint = mapping.getKey();
+            int glyphId = mapping.getValue();
+            if (glyphId <= 0 || glyphId >= numGlyphs || codePoint < 0x20 || Character.isSpaceChar(codePoint)) {
+                continue;
+            }
+            String glyphName = glyphNames[glyphId];
+            if (glyphName == null || glyphName.isEmpty() || glyphName.startsWith(".") || !usedNames.add(glyphName)) {
+                glyphName = String.format("u%04X", codePoint);
+                usedNames.add(glyphName);
+            }
+            glyphs.put(codePoint, new Glyph(codePoint, glyphName, fingerprint(outlines[glyphId])));
+        }
+    }
+
+    /**
+     * @param file a .ttf or .otf file
+     * @return the parsed font
+     * @throws IOException if the file can not be read or is not a font, e.g.
+     * while it is still being written
+     */
+    public static CustomFont read(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        // read, not mapped, the file may be replaced while the font is in use
+        ByteBuffer font = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.BIG_ENDIAN);
+        try {
+            return new CustomFont(file, attributes, font);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new IOException("Truncated font: " + file, ex);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @param attributes the current attributes of the file
+     * @return true if the file still has the size and modification time it
+     * was read with
+     */
+    public boolean isUpToDate(BasicFileAttributes attributes) {
+        return attributes.size() == size && attributes.lastModifiedTime().toMillis() == lastModified;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getFamily() {
+        return family;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the glyphs ordered by code point
+     */
+    public Collection<Glyph> getGlyphs() {
+        return Collections.unmodifiableCollection(glyphs.values());
+    }
+
+    public Glyph getGlyph(int codePoint) {
+        return glyphs.get(codePoint);
+    }
+
+    /**
+     * @param previous an older version of this font
+     * @return the code points added, removed or changed since the previous version
+     */
+    public Diff diff(CustomFont previous) {
+        SortedSet<Integer> added = new TreeSet<>();
+        SortedSet<Integer> removed = new TreeSet<>();
+        SortedSet<Integer> changed = new TreeSet<>();
+        for (Glyph glyph : glyphs.values()) {
+            Glyph previousGlyph = previous.glyphs.get(glyph.codePoint);
+            if (previousGlyph == null) {
+                added.add(glyph.codePoint);
+            } else if (previousGlyph.fingerprint != glyph.fingerprint || !previousGlyph.name.equals(glyph.name)) {
+                changed.add(glyph.codePoint);
+            }
+        }
+        for (Integer codePoint : previous.glyphs.keySet()) {
+            if (!glyphs.containsKey(codePoint)) {
+                removed.add(codePoint);
+            }
+        }
+        return new Diff(added, removed, changed);
+    }
+
+    private static long fingerprint(ByteBuffer outline) {
+        if (outline == null) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(outline.duplicate());
+        return ((long) outline.remaining() << 32) | crc.getValue();
+    }
+
+    /**
+     * @return the outline data of every glyph or nulls for unsupported outline formats
+     */
+    private static ByteBuffer[] outlines(Map<String, ByteBuffer> tables, int numGlyphs) {
+        ByteBuffer[] outlines = new ByteBuffer[numGlyphs];
+        ByteBuffer glyf = tables.get("glyf");
+        ByteBuffer loca = tables.get("loca");
+        ByteBuffer head = tables.get("head");
+        if (glyf != null && loca != null && head != null) {
+            boolean longLoca = head.getShort(50) == 1;
+            for (int glyphId = 0; glyphId < numGlyphs; glyphId++) {
+                int start = longLoca ? loca.getInt(glyphId * 4) : TrueTypeFont.u16(loca, glyphId * 2) * 2;
+                int end = longLoca ? loca.getInt(glyphId * 4 + 4) : TrueTypeFont.u16(loca, glyphId * 2 + 2) * 2;
+                outlines[glyphId] = TrueTypeFont.slice(glyf, start, Math.max(start, end));
+            }
+        } else if (tables.containsKey("CFF ")) {
+            ByteBuffer cff = tables.get("CFF ");
+            int nameIndex = TrueTypeFont.u8(cff, 2);
+            int topDictIndex = skipIndex(cff, nameIndex);
+            int charStrings = topDictOperand(cff, topDictIndex, CFF_CHARSTRINGS);
+            if (charStrings > 0) {
+                int count = TrueTypeFont.u16(cff, charStrings);
+                int offSize = TrueTypeFont.u8(cff, charStrings + 2);
+                int data = charStrings + 3 + (count + 1) * offSize - 1;
+                for (int glyphId = 0; glyphId < Math.min(count, numGlyphs); glyphId++) {
+                    outlines[glyphId] = TrueTypeFont.slice(cff, data + offset(cff, charStrings + 3 + glyphId * offSize, offSize),
+                            data + offset(cff, charStrings + 3 + (glyphId + 1) * offSize, offSize));
+                }
+            }
+        }
+        return outlines;
+    }
+
+    private static int skipIndex(ByteBuffer cff, int index) {
+        int count = TrueTypeFont.u16(cff, index);
+        if (count == 0) {
+            return index + 2;
+        }
+        int offSize = TrueTypeFont.u8(cff, index + 2);
+        int data = index + 3 + (count + 1) * offSize - 1;
+        return data + offset(cff, index + 3 + count * offSize, offSize);
+    }
+
+    /**
+     * @return the first operand of the operator in the first top DICT or -1
+     */
+    private static int topDictOperand(ByteBuffer cff, int topDictIndex, int operator) {
+        if (TrueTypeFont.u16(cff, topDictIndex) == 0) {
+            return -1;
+        }
+        int offSize = TrueTypeFont.u8(cff, topDictIndex + 2);
+        int data = topDictIndex + 3 + 2 * offSize - 1;
+        int position = data + offset(cff, topDictIndex + 3, offSize);
+        int end = data + offset(cff, topDictIndex + 3 + offSize, offSize);
+        List<Integer> operands = new ArrayList<>();
+        while (position < end) {
+            int b0 = TrueTypeFont.u8(cff, position++);
+            if (b0 <= 21) {
+                if (b0 == 12) {
+                    b0 = 1200 + TrueTypeFont.u8(cff, position++);
+                }
+                if (b0 == operator && !operands.isEmpty()) {
+                    return operands.get(0);
+                }
+                operands.clear();
+            } else if (b0 == 28) {
+                operands.add((int) cff.getShort(position));
+                position += 2;
+            } else if (b0 == 29) {
+                operands.add(cff.getInt(position));
+                position += 4;
+            } else if (b0 == 30) {
+                // real number, nibbles up to the 0xf terminator
+                while ((TrueTypeFont.u8(cff, position) & 0x0F) != 0x0F && (TrueTypeFont.u8(cff, position) & 0xF0) != 0xF0) {
+                    position++;
+                }
+                position++;
+                operands.add(0);
+            } else if (b0 >= 32 && b0 <= 246) {
+                operands.add(b0 - 139);
+            } else if (b0 >= 247 && b0 <= 250) {
+                operands.add((b0 - 247) * 256 + TrueTypeFont.u8(cff, position++) + 108);
+            } else if (b0 >= 251 && b0 <= 254) {
+                operands.add(-(b0 - 251) * 256 - TrueTypeFont.u8(cff, position++) - 108);
+            }
+        }
+        return -1;
+    }
+
+    private static int offset(ByteBuffer cff, int position, int offSize) {
+        int offset = 0;
+        for (int i = 0; i < offSize; i++) {
+            offset = (offset << 8) | TrueTypeFont.u8(cff, position + i);
+        }
+        return offset;
+    }
+
+    /**
+     * @return the names of a version 2 {@code post} table, nulls otherwise
+     * and for the standard Macintosh glyph names
+     */
+    private static String[] glyphNames(ByteBuffer post, int numGlyphs) {
+        String[] names = new String[numGlyphs];
+        if (post.getInt(0) != 0x00020000) {
+            return names;
+        }
+        int count = Math.min(numGlyphs, TrueTypeFont.u16(post, 32));
+        List<String> customNames = new ArrayList<>();
+        int position = 34 + count * 2;
+        while (position < post.limit()) {
+            int length = TrueTypeFont.u8(post, position);
+            byte[] name = new byte[length];
+            for (int i = 0; i < length && position + 1 + i < post.limit(); i++) {
+                name[i] = post.get(position + 1 + i);
+            }
+            customNames.add(new String(name, StandardCharsets.US_ASCII));
+            position += 1 + length;
+        }
+        for (int glyphId = 0; glyphId < count; glyphId++) {
+            int index = TrueTypeFont.u16(post, 34 + glyphId * 2);
+            if (index >= 258 && index - 258 < customNames.size()) {
+                names[glyphId] = customNames.get(index - 258);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return the name record, Windows Unicode preferred, or null
+     */
+    private static String name(ByteBuffer name, int nameId) {
+        int count = TrueTypeFont.u16(name, 2);
+        int storage = TrueTypeFont.u16(name, 4);
+        String macName = null;
+        for (int i = 0; i < count; i++) {
+            int record = 6 + i * 12;
+            if (TrueTypeFont.u16(name, record + 6) != nameId) {
+                continue;
+            }
+            int platformId = TrueTypeFont.u16(name, record);
+            int length = TrueTypeFont.u16(name, record + 8);
+            int offset = storage + TrueTypeFont.u16(name, record + 10);
+            if (offset + length > name.limit()) {
+                continue;
+            }
+            byte[] value = new byte[length];
+            for (int j = 0; j < length; j++) {
+                value[j] = name.get(offset + j);
+            }
+            if (platformId == 3 || platformId == 0) {
+                return new String(value, StandardCharsets.UTF_16BE).trim();
+            } else if (platformId == 1 && macName == null) {
+                macName = new String(value, Charset.forName("ISO-8859-1")).trim();
+            }
+        }
+        return macName;
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches a directory for TrueType and OpenType fonts with a
+ * {@link WatchService} and reads every new or changed font file in its own
+ * background thread.
+ * <p>
+ * Events are collected until the directory has been quiet for
+ * {@link #SETTLE_MILLIS}, as copying a font fires several events, and only
+ * the files named by the events are read again. A file that can not be
+ * parsed yet, e.g. because it is still being written, keeps its previous
+ * version until the next event.
+ *
+ * @author agent
+ */
+public class CustomFontsWatcher implements Closeable {
+
+    public final static long SETTLE_MILLIS = 500;
+
+    /**
+     * Called on the watcher thread.
+     */
+    public interface Listener {
+
+        /**
+         * @param font the new or changed font
+         * @param previous the version of the font read before or null for a new font
+         */
+        void fontChanged(CustomFont font, CustomFont previous);
+
+        void fontRemoved(CustomFont previous);
+    }
+
+    private final Path directory;
+    private final Listener listener;
+    private final Map<Path, CustomFont> fonts = new HashMap<>();
+    private WatchService watchService;
+    private Thread watchThread;
+
+    public CustomFontsWatcher(Path directory, Listener listener) {
+        this.directory = directory;
+        this.listener = listener;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Reads the fonts already in the directory and starts watching it.
+     *
+     * @throws IOException if the directory can not be watched
+     */
+    public synchronized void start() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        WatchService service = watchService;
+        watchThread = new Thread(() -> watch(service), "custom-fonts-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                Logger.getLogger(CustomFontsWatcher.class.getName()).log(Level.WARNING, null, ex);
+            }
+            watchService = null;
+            watchThread = null;
+        }
+    }
+
+    public static boolean isFontFile(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return fileName.endsWith(".ttf") || fileName.endsWith(".otf");
+    }
+
+    private void watch(WatchService service) {
+        rescan();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = false;
+                // collect until the directory is quiet, a copy fires several events
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else {
+                            Path file = directory.resolve((Path) event.context());
+                            if (isFontFile(file)) {
+                                changed.add(file);
+                            }
+                        }
+                    }
+                    if (!key.reset()) {
+                        Logger.getLogger(CustomFontsWatcher.class.getName()).log(Level.WARNING, "Stopped watching {0}", directory);
+                        return;
+                    }
+                    key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (overflow) {
+                    rescan();
+                } else {
+                    changed.forEach(this::update);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // closed
+        }
+    }
+
+    private void rescan() {
+        Set<Path> files = new LinkedHashSet<>(fonts.keySet());
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, CustomFontsWatcher::isFontFile)) {
+            entries.forEach(files::add);
+        } catch (IOException ex) {
+            Logger.getLogger(CustomFontsWatcher.class.getName()).log(Level.WARNING, "Can not list " + directory, ex);
+        }
+        files.forEach(this::update);
+    }
+
+    private void update(Path file) {
+        CustomFont previous = fonts.get(file);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile() || previous != null && previous.isUpToDate(attributes)) {
+                return;
+            }
+            CustomFont font = CustomFont.read(file);
+            fonts.put(file, font);
+            listener.fontChanged(font, previous);
+        } catch (NoSuchFileException ex) {
+            if (previous != null) {
+                fonts.remove(file);
+                listener.fontRemoved(previous);
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(CustomFontsWatcher.class.getName()).log(Level.INFO, "Can not read font " + file + ", keeping the previous version", ex);
+        } catch (RuntimeException ex) {
+            Logger.getLogger(CustomFontsWatcher.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcon;
+import de.jensd.fx.glyphs.GlyphIcons;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.beans.Observable;
+import javafx.scene.text.Font;
+
+/**
+ * Glyph node of a {@link CustomFont}, which has no icon enum.
+ * <p>
+ * {@link GlyphIcon} resolves its glyph name against an enum, so this node
+ * uses a single placeholder constant and sets name, character and font
+ * family itself.
+ *
+ * @author agent
+ */
+public class CustomGlyphIcon extends GlyphIcon<CustomGlyphIcon.Placeholder> {
+
+    enum Placeholder implements GlyphIcons {
+        GLYPH;
+
+        @Override
+        public String unicode() {
+            return "";
+        }
+
+        @Override
+        public String fontFamily() {
+            return "System";
+        }
+    }
+
+    // kept here, the log manager only holds loggers weakly
+    private final static Logger GLYPH_ICON_LOGGER = Logger.getLogger(GlyphIcon.class.getName());
+
+    private final String unicode;
+    private final String fontFamily;
+
+    /**
+     * @param glyphName the name of the glyph
+     * @param unicode the character of the glyph
+     * @param fontFamily the family of the loaded custom font
+     */
+    public CustomGlyphIcon(String glyphName, String unicode, String fontFamily) {
+        super(Placeholder.class);
+        this.unicode = unicode;
+        this.fontFamily = fontFamily;
+        setCustomGlyphName(glyphName);
+        setText(unicode);
+        // runs after the listener of GlyphIcon, which sets the placeholder family
+        glyphSizeProperty().addListener((Observable observable) -> updateFont());
+        updateFont();
+    }
+
+    /**
+     * GlyphIcon looks every name up in the enum and logs the ones that are no
+     * constant, the listener doing so can not be bypassed. So its logger is
+     * turned off for just this call.
+     */
+    private void setCustomGlyphName(String glyphName) {
+        synchronized (GLYPH_ICON_LOGGER) {
+            Level level = GLYPH_ICON_LOGGER.getLevel();
+            GLYPH_ICON_LOGGER.setLevel(Level.OFF);
+            try {
+                setGlyphName(glyphName);
+            } finally {
+                GLYPH_ICON_LOGGER.setLevel(level);
+            }
+        }
+    }
+
+    private void updateFont() {
+        double size = getGlyphSize().doubleValue();
+        setFont(Font.font(fontFamily, size));
+        setStyle(String.format("-fx-font-family: '%s'; -fx-font-size: %s;", fontFamily, size));
+    }
+
+    @Override
+    public Placeholder getDefaultGlyph() {
+        return Placeholder.GLYPH;
+    }
+
+    @Override
+    public String unicode() {
+        return unicode;
+    }
+
+    public String getFontFamily() {
+        return fontFamily;
+    }
+
+}
@@ -40,6 +40,14 @@ public class FontInfo {
         }
     }
 
+    /**
+     * @param fontInfoProperties the font info, e.g. read from a font file,
+     * later changes are reflected
+     */
+    public FontInfo(Properties fontInfoProperties) {
+        this.fontInfoProperties = fontInfoProperties;
+    }
+
     public String getName() {
         return fontInfoProperties.getProperty("font.name", "no font name");
     }
@@ -0,0 +1,446 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcons;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Creates a TrueType font that only contains the glyphs of the given code
+ * points. The code points stay the same, so {@code GlyphIcon} code using the
+ * original font works with the subset as well.
+ * <p>
+ * {@code glyf}, {@code loca}, {@code hmtx} and {@code cmap} are rewritten for
+ * the renumbered glyphs, {@code head}, {@code hhea}, {@code maxp} and
+ * {@code post} are adjusted, hinting and naming tables are copied and
+ * everything else (layout tables referencing glyph ids, kerning, ...) is
+ * dropped. CFF based OpenType fonts are not supported.
+ *
+ * @author agent
+ */
+public class FontSubsetter {
+
+    private final static int CHECKSUM_MAGIC = 0xB1B0AFBA;
+    private final static String[] COPIED_TABLES = {"OS/2", "name", "cvt ", "fpgm", "prep", "gasp"};
+
+    // composite glyph flags
+    private final static int ARG_1_AND_2_ARE_WORDS = 0x0001;
+    private final static int WE_HAVE_A_SCALE = 0x0008;
+    private final static int MORE_COMPONENTS = 0x0020;
+    private final static int WE_HAVE_AN_X_AND_Y_SCALE = 0x0040;
+    private final static int WE_HAVE_A_TWO_BY_TWO = 0x0080;
+
+    private final Map<String, ByteBuffer> tables;
+    private final Map<Integer, Integer> characterMap;
+    private final int numGlyphs;
+    private final int numberOfHMetrics;
+    private final boolean longLoca;
+
+    /**
+     * @param font the complete font file
+     * @throws IOException if the font is no TrueType font or has no Unicode
+     * character map
+     */
+    public FontSubsetter(ByteBuffer font) throws IOException {
+        TrueTypeFont trueTypeFont = new TrueTypeFont(font);
+        if (!trueTypeFont.hasGlyfOutlines()) {
+            throw new IOException("Only TrueType (glyf based) fonts can be subset");
+        }
+        this.tables = trueTypeFont.getTables();
+        for (String required : new String[]{"head", "hhea", "maxp", "hmtx", "loca", "glyf", "cmap"}) {
+            if (!tables.containsKey(required)) {
+                throw new IOException("Font has no '" + required + "' table");
+            }
+        }
+        numGlyphs = trueTypeFont.getNumGlyphs();
+        characterMap = trueTypeFont.getCharacterMap();
+        numberOfHMetrics = TrueTypeFont.u16(tables.get("hhea"), 34);
+        longLoca = tables.get("head").getShort(50) == 1;
+    }
+
+    /**
+     * Reads a font from the classpath.
+     *
+     * @param resource the resource path, e.g. {@link GlyphsPack.Type#getFontPath()}
+     * @return the font data
+     * @throws IOException if the resource can not be read
+     */
+    public static ByteBuffer readFont(String resource) throws IOException {
+        try (InputStream in = FontSubsetter.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException(String.format("Font resource '%s' not found", resource));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(in.available(), 64 * 1024));
+            try (ReadableByteChannel channel = Channels.newChannel(in)) {
+                while (channel.read(buffer) >= 0) {
+                    if (!buffer.hasRemaining()) {
+                        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                        buffer.flip();
+                        buffer = larger.put(buffer);
+                    }
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Maps a font file into memory.
+     *
+     * @param file the font file
+     * @return the font data
+     * @throws IOException if the file can not be read
+     */
+    public static ByteBuffer readFont(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    public static void writeFont(ByteBuffer font, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = font.duplicate();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    /**
+     * @param codePoints the code points to keep, the ones not in the font are ignored
+     * @return the subset font
+     */
+    public ByteBuffer subset(Collection<Integer> codePoints) {
+        // old glyph id -> code points, for the glyphs to keep
+        Map<Integer, List<Integer>> mapped = new LinkedHashMap<>();
+        for (int codePoint : new TreeSet<>(codePoints)) {
+            int glyphId = characterMap.getOrDefault(codePoint, 0);
+            if (glyphId > 0 && glyphId < numGlyphs) {
+                mapped.computeIfAbsent(glyphId, id -> new ArrayList<>()).add(codePoint);
+            }
+        }
+        // .notdef first, then the mapped glyphs in code point order, then components of composite glyphs
+        Map<Integer, Integer> newGlyphIds = new LinkedHashMap<>();
+        newGlyphIds.put(0, 0);
+        for (int glyphId : mapped.keySet()) {
+            newGlyphIds.putIfAbsent(glyphId, newGlyphIds.size());
+        }
+        Deque<Integer> pending = new ArrayDeque<>(newGlyphIds.keySet());
+        while (!pending.isEmpty()) {
+            for (int component : components(pending.pop())) {
+                if (!newGlyphIds.containsKey(component)) {
+                    newGlyphIds.put(component, newGlyphIds.size());
+                    pending.push(component);
+                }
+            }
+        }
+
+        int subsetGlyphs = newGlyphIds.size();
+        ByteBuffer glyf = ByteBuffer.allocate(glyfSize(newGlyphIds.keySet()));
+        ByteBuffer loca = ByteBuffer.allocate((subsetGlyphs + 1) * 4);
+        ByteBuffer hmtx = ByteBuffer.allocate(subsetGlyphs * 4);
+        for (int oldGlyphId : newGlyphIds.keySet()) {
+            loca.putInt(glyf.position());
+            ByteBuffer glyph = glyph(oldGlyphId);
+            int start = glyf.position();
+            glyf.put(glyph);
+            if (glyph.capacity() > 0 && glyf.getShort(start) < 0) {
+                remapComponents(glyf, start, newGlyphIds);
+            }
+            while (glyf.position() % 4 != 0) {
+                glyf.put((byte) 0);
+            }
+            hmtx.putShort((short) advanceWidth(oldGlyphId)).putShort(leftSideBearing(oldGlyphId));
+        }
+        loca.putInt(glyf.position());
+        glyf.flip();
+        loca.flip();
+        hmtx.flip();
+
+        Map<Integer, Integer> cmap = new TreeMap<>();
+        mapped.forEach((oldGlyphId, mappedCodePoints) -> mappedCodePoints.forEach(codePoint -> cmap.put(codePoint, newGlyphIds.get(oldGlyphId))));
+
+        Map<String, ByteBuffer> subset = new TreeMap<>();
+        for (String tag : COPIED_TABLES) {
+            if (tables.containsKey(tag)) {
+                subset.put(tag, tables.get(tag).duplicate());
+            }
+        }
+        ByteBuffer head = copy(tables.get("head"));
+        head.putInt(8, 0);
+        head.putShort(50, (short) 1);
+        subset.put("head", head);
+        subset.put("hhea", copy(tables.get("hhea")).putShort(34, (short) subsetGlyphs));
+        subset.put("maxp", copy(tables.get("maxp")).putShort(4, (short) subsetGlyphs));
+        subset.put("hmtx", hmtx);
+        subset.put("loca", loca);
+        subset.put("glyf", glyf);
+        subset.put("cmap", cmap(cmap));
+        if (tables.containsKey("post") && tables.get("post").capacity() >= 32) {
+            // version 3: no glyph names, they would reference the old glyph ids
+            ByteBuffer post = copy(tables.get("post"));
+            post.limit(32);
+            subset.put("post", post.slice().putInt(0, 0x00030000));
+        }
+        return assemble(subset);
+    }
+
+    /**
+     * @param glyphs glyphs of a font
+     * @return the code points of the glyphs
+     */
+    public static List<Integer> codePoints(Collection<? extends GlyphIcons> glyphs) {
+        List<Integer> codePoints = new ArrayList<>(glyphs.size());
+        for (GlyphIcons glyph : glyphs) {
+            codePoints.add(glyph.unicode().codePointAt(0));
+        }
+        return codePoints;
+    }
+
+    private ByteBuffer glyph(int glyphId) {
+        ByteBuffer loca = tables.get("loca");
+        int start = longLoca ? loca.getInt(glyphId * 4) : TrueTypeFont.u16(loca, glyphId * 2) * 2;
+        int end = longLoca ? loca.getInt(glyphId * 4 + 4) : TrueTypeFont.u16(loca, glyphId * 2 + 2) * 2;
+        ByteBuffer glyph = tables.get("glyf").duplicate();
+        glyph.position(start).limit(Math.max(start, end));
+        return glyph.slice().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private int glyfSize(Set<Integer> glyphIds) {
+        int size = 0;
+        for (int glyphId : glyphIds) {
+            size += (glyph(glyphId).capacity() + 3) & ~3;
+        }
+        return size;
+    }
+
+    private List<Integer> components(int glyphId) {
+        List<Integer> components = new ArrayList<>();
+        ByteBuffer glyph = glyph(glyphId);
+        if (glyph.capacity() == 0 || glyph.getShort(0) >= 0) {
+            return components;
+        }
+        int offset = 10;
+        int flags;
+        do {
+            flags = TrueTypeFont.u16(glyph, offset);
+            components.add(TrueTypeFont.u16(glyph, offset + 2));
+            offset += componentLength(flags);
+        } while ((flags & MORE_COMPONENTS) != 0);
+        return components;
+    }
+
+    private static void remapComponents(ByteBuffer glyf, int start, Map<Integer, Integer> newGlyphIds) {
+        int offset = start + 10;
+        int flags;
+        do {
+            flags = TrueTypeFont.u16(glyf, offset);
+            glyf.putShort(offset + 2, newGlyphIds.get(TrueTypeFont.u16(glyf, offset + 2)).shortValue());
+            offset += componentLength(flags);
+        } while ((flags & MORE_COMPONENTS) != 0);
+    }
+
+    private static int componentLength(int flags) {
+        int length = 4 + ((flags & ARG_1_AND_2_ARE_WORDS) != 0 ? 4 : 2);
+        if ((flags & WE_HAVE_A_SCALE) != 0) {
+            length += 2;
+        } else if ((flags & WE_HAVE_AN_X_AND_Y_SCALE) != 0) {
+            length += 4;
+        } else if ((flags & WE_HAVE_A_TWO_BY_TWO) != 0) {
+            length += 8;
+        }
+        return length;
+    }
+
+    private int advanceWidth(int glyphId) {
+        return TrueTypeFont.u16(tables.get("hmtx"), Math.min(glyphId, numberOfHMetrics - 1) * 4);
+    }
+
+    private short leftSideBearing(int glyphId) {
+        ByteBuffer hmtx = tables.get("hmtx");
+        return glyphId < numberOfHMetrics
+                ? hmtx.getShort(glyphId * 4 + 2)
+                : hmtx.getShort(numberOfHMetrics * 4 + (glyphId - numberOfHMetrics) * 2);
+    }
+
+    /**
+     * A format 4 subtable for the BMP, plus a format 12 subtable if code
+     * points beyond it are mapped.
+     */
+    private static ByteBuffer cmap(Map<Integer, Integer> codePointToGlyphId) {
+        List<int[]> segments = new ArrayList<>();
+        List<int[]> groups = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> mapping : codePointToGlyphId.entrySet()) {
+            int codePoint = mapping.getKey();
+            int glyphId = mapping.getValue();
+            int[] group = groups.isEmpty() ? null : groups.get(groups.size() - 1);
+            if (group != null && group[1] + 1 == codePoint && group[2] + codePoint - group[0] == glyphId) {
+                group[1] = codePoint;
+            } else {
+                groups.add(new int[]{codePoint, codePoint, glyphId});
+            }
+            if (codePoint <= 0xFFFF) {
+                int[] segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (segment != null && segment[1] + 1 == codePoint && segment[2] + codePoint - segment[0] == glyphId) {
+                    segment[1] = codePoint;
+                } else {
+                    segments.add(new int[]{codePoint, codePoint, glyphId});
+                }
+            }
+        }
+        segments.add(new int[]{0xFFFF, 0xFFFF, 0});
+        boolean supplementary = codePointToGlyphId.keySet().stream().anyMatch(codePoint -> codePoint > 0xFFFF);
+
+        int segCount = segments.size();
+        int format4Length = 16 + segCount * 8;
+        int format12Length = 16 + groups.size() * 12;
+        int numSubtables = supplementary ? 2 : 1;
+        int headerLength = 4 + numSubtables * 8;
+        ByteBuffer cmap = ByteBuffer.allocate(headerLength + format4Length + (supplementary ? format12Length : 0));
+        cmap.putShort((short) 0).putShort((short) numSubtables);
+        cmap.putShort((short) 3).putShort((short) 1).putInt(headerLength);
+        if (supplementary) {
+            cmap.putShort((short) 3).putShort((short) 10).putInt(headerLength + format4Length);
+        }
+
+        int entrySelector = 31 - Integer.numberOfLeadingZeros(segCount);
+        int searchRange = 2 << entrySelector;
+        cmap.putShort((short) 4).putShort((short) format4Length).putShort((short) 0)
+                .putShort((short) (segCount * 2)).putShort((short) searchRange)
+                .putShort((short) entrySelector).putShort((short) (segCount * 2 - searchRange));
+        segments.forEach(segment -> cmap.putShort((short) segment[1]));
+        cmap.putShort((short) 0);
+        segments.forEach(segment -> cmap.putShort((short) segment[0]));
+        segments.forEach(segment -> cmap.putShort((short) (segment[2] - segment[0])));
+        segments.forEach(segment -> cmap.putShort((short) 0));
+
+        if (supplementary) {
+            cmap.putShort((short) 12).putShort((short) 0).putInt(format12Length).putInt(0).putInt(groups.size());
+            groups.forEach(group -> cmap.putInt(group[0]).putInt(group[1]).putInt(group[2]));
+        }
+        cmap.flip();
+        return cmap;
+    }
+
+    private static ByteBuffer assemble(Map<String, ByteBuffer> subset) {
+        int numTables = subset.size();
+        int entrySelector = 31 - Integer.numberOfLeadingZeros(numTables);
+        int searchRange = 16 << entrySelector;
+        int size = 12 + numTables * 16;
+        for (ByteBuffer table : subset.values()) {
+            size += (table.remaining() + 3) & ~3;
+        }
+        ByteBuffer font = ByteBuffer.allocate(size);
+        font.putInt(TrueTypeFont.TRUETYPE_VERSION).putShort((short) numTables).putShort((short) searchRange)
+                .putShort((short) entrySelector).putShort((short) (numTables * 16 - searchRange));
+        int offset = 12 + numTables * 16;
+        int headOffset = 0;
+        for (Map.Entry<String, ByteBuffer> table : subset.entrySet()) {
+            ByteBuffer data = table.getValue().duplicate();
+            int length = data.remaining();
+            font.put(table.getKey().getBytes(StandardCharsets.US_ASCII))
+                    .putInt(checksum(data))
+                    .putInt(offset)
+                    .putInt(length);
+            int record = font.position();
+            font.position(offset);
+            font.put(data);
+            font.position(record);
+            if ("head".equals(table.getKey())) {
+                headOffset = offset;
+            }
+            offset += (length + 3) & ~3;
+        }
+        font.position(0);
+        font.putInt(headOffset + 8, CHECKSUM_MAGIC - checksum(font.duplicate()));
+        return font;
+    }
+
+    private static int checksum(ByteBuffer data) {
+        ByteBuffer table = data.duplicate();
+        int sum = 0;
+        while (table.remaining() >= 4) {
+            sum += table.getInt();
+        }
+        int shift = 24;
+        while (table.hasRemaining()) {
+            sum += (table.get() & 0xFF) << shift;
+            shift -= 8;
+        }
+        return sum;
+    }
+
+    private static ByteBuffer copy(ByteBuffer table) {
+        ByteBuffer source = table.duplicate();
+        source.clear();
+        ByteBuffer copy = ByteBuffer.allocate(source.capacity());
+        copy.put(source);
+        copy.flip();
+        return copy;
+    }
+
+    /**
+     * Subsets a bundled font from the command line.
+     * <pre>
+     * FontSubsetter FONT_AWESOME subset.ttf SAVE USER ARROW_UP ...
+     * </pre>
+     *
+     * @param args the {@link GlyphsPack.Type}, the output file and the glyph names
+     * @throws IOException if reading or writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: FontSubsetter <" + Arrays.toString(GlyphsPack.Type.values()) + "> <output.ttf> <glyph name>...");
+            System.exit(1);
+        }
+        GlyphsPack.Type type = GlyphsPack.Type.valueOf(args[0]);
+        Set<String> names = new TreeSet<>(Arrays.asList(args).subList(2, args.length));
+        List<GlyphIcons> glyphs = new ArrayList<>();
+        for (GlyphIcons glyph : type.getGlyphs()) {
+            if (names.remove(glyph.name())) {
+                glyphs.add(glyph);
+            }
+        }
+        if (!names.isEmpty()) {
+            System.err.println("Unknown glyphs: " + names);
+            System.exit(1);
+        }
+        ByteBuffer subset = new FontSubsetter(readFont(type.getFontPath())).subset(codePoints(glyphs));
+        writeFont(subset, Paths.get(args[1]));
+        System.out.printf("Wrote %d glyphs, %d bytes to %s%n", glyphs.size(), subset.remaining(), args[1]);
+    }
+
+}
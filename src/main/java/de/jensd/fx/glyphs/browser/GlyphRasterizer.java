@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders glyphs with AWT instead of JavaFX, so rendering works off the FX
+ * application thread, in parallel and without a running toolkit.
+ *
+ * @author agent
+ */
+public class GlyphRasterizer {
+
+    private static final FontRenderContext FONT_RENDER_CONTEXT = new FontRenderContext(null, true, true);
+    private static final float OUTLINE_FONT_SIZE = 256.0f;
+
+    private final Map<String, Font> fonts = new ConcurrentHashMap<>();
+
+    /**
+     * Renders the glyph scaled to fit a square image of the given size.
+     *
+     * @param type the font the glyph belongs to
+     * @param unicode the character(s) of the glyph
+     * @param size width and height of the image in pixels
+     * @param color the fill color of the glyph
+     * @return the image or null if the glyph has no visible outline
+     */
+    public BufferedImage render(GlyphsPack.Type type, String unicode, int size, Color color) {
+        return render(getFont(type.getFontPath()), unicode, size, color);
+    }
+
+    public BufferedImage render(Font font, String unicode, int size, Color color) {
+        Shape outline = font.createGlyphVector(FONT_RENDER_CONTEXT, unicode).getOutline();
+        Rectangle2D bounds = outline.getBounds2D();
+        if (bounds.isEmpty()) {
+            return null;
+        }
+        double padding = size / 16.0;
+        double scale = (size - 2 * padding) / Math.max(bounds.getWidth(), bounds.getHeight());
+        AffineTransform transform = new AffineTransform();
+        transform.translate(size / 2.0, size / 2.0);
+        transform.scale(scale, scale);
+        transform.translate(-bounds.getCenterX(), -bounds.getCenterY());
+
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(color);
+            g.fill(transform.createTransformedShape(outline));
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * @param fontPath classpath resource of a TTF/OTF font
+     * @return the font, loaded once and shared afterwards
+     */
+    public Font getFont(String fontPath) {
+        return fonts.computeIfAbsent(fontPath, path -> {
+            try (InputStream in = GlyphRasterizer.class.getResourceAsStream(path)) {
+                if (in == null) {
+                    throw new IOException(String.format("Font resource '%s' not found", path));
+                }
+                return Font.createFont(Font.TRUETYPE_FONT, in).deriveFont(OUTLINE_FONT_SIZE);
+            } catch (IOException | FontFormatException ex) {
+                throw new UncheckedIOException(new IOException(String.format("An error occurred while loading '%s'", path), ex));
+            }
+        });
+    }
+
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcons;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Perceptual hashes of all glyphs of the bundled fonts, indexed in a
+ * {@link BKTree} to find visually similar glyphs across the packs.
+ * <p>
+ * Hashes are cached on disk per font version, so only glyphs of new or
+ * updated fonts are rasterized again. A build works on its own tree and
+ * swaps it in when done, so lookups and {@link #clear()} never wait for a
+ * running build.
+ *
+ * @author agent
+ */
+public class GlyphSimilarityIndex {
+
+    public final static int DEFAULT_MAX_DISTANCE = 6;
+    public final static String CACHE_FILE_NAME = "glyph-hashes.properties";
+    private final static String CACHE_FORMAT_KEY = "@format";
+    private final static String CACHE_FORMAT = "dct-phash-1";
+    private final static String CACHE_VERSION_KEY = "@version";
+    private final static String NO_OUTLINE = "-";
+
+    public static class Entry {
+
+        private final GlyphsPack.Type type;
+        private final GlyphIcons glyph;
+        private final long hash;
+
+        Entry(GlyphsPack.Type type, GlyphIcons glyph, long hash) {
+            this.type = type;
+            this.glyph = glyph;
+            this.hash = hash;
+        }
+
+        public GlyphsPack.Type getType() {
+            return type;
+        }
+
+        public GlyphIcons getGlyph() {
+            return glyph;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        /**
+         * @return the qualified name, e.g. "FontAwesomeIcon.SAVE"
+         */
+        public String getName() {
+            return type.getQualifiedName(glyph.name());
+        }
+
+        @Override
+        public String toString() {
+            return getName();
+        }
+    }
+
+    /**
+     * A built index, not modified once published.
+     */
+    private static class Index {
+
+        private final BKTree<Entry> tree = new BKTree<>();
+        private final Map<String, Entry> entries = new HashMap<>();
+    }
+
+    private final Path cacheFile;
+    private final GlyphRasterizer rasterizer = new GlyphRasterizer();
+    private final Object buildLock = new Object();
+    private volatile Index index;
+    private long clearCount;
+
+    public GlyphSimilarityIndex() {
+        this(Paths.get(System.getProperty("user.home"), GlyphsBrowserAppModel.APP_DATA_DIR, CACHE_FILE_NAME));
+    }
+
+    public GlyphSimilarityIndex(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Hashes all glyphs of the given fonts, using the disk cache for the ones
+     * seen before, and (re)builds the index. Must not be called on the FX
+     * application thread, rasterizing all glyphs from scratch takes a while.
+     * Builds run one after the other; a build overlapping a {@link #clear()}
+     * is dropped.
+     *
+     * @param types the fonts to index
+     */
+    public void build(Collection<GlyphsPack.Type> types) {
+        synchronized (buildLock) {
+            long startClearCount;
+            synchronized (this) {
+                startClearCount = clearCount;
+            }
+            Index built = build(types, loadCache());
+            synchronized (this) {
+                if (clearCount == startClearCount) {
+                    index = built;
+                }
+            }
+        }
+    }
+
+    private Index build(Collection<GlyphsPack.Type> types, Properties cache) {
+        Map<String, String> hashes = new ConcurrentHashMap<>();
+        List<Entry> pending = new ArrayList<>();
+        List<GlyphsPack.Type> indexedTypes = new ArrayList<>();
+        for (GlyphsPack.Type type : types) {
+            try {
+                rasterizer.getFont(type.getFontPath());
+            } catch (UncheckedIOException ex) {
+                Logger.getLogger(GlyphSimilarityIndex.class.getName()).log(Level.WARNING, "Skipping " + type + " from the similarity index", ex);
+                continue;
+            }
+            indexedTypes.add(type);
+            String version = new FontInfo(type.getFontInfoPath()).getVersion();
+            String versionKey = type.getIconClassName() + CACHE_VERSION_KEY;
+            boolean cacheValid = version.equals(cache.getProperty(versionKey));
+            cache.setProperty(versionKey, version);
+            for (GlyphIcons glyph : type.getGlyphs()) {
+                Entry entry = new Entry(type, glyph, 0L);
+                String cached = cacheValid ? cache.getProperty(entry.getName()) : null;
+                if (cached != null) {
+                    hashes.put(entry.getName(), cached);
+                } else {
+                    pending.add(entry);
+                }
+            }
+        }
+
+        pending.parallelStream().forEach(entry -> hashes.put(entry.getName(), hash(entry)));
+
+        Index built = new Index();
+        for (GlyphsPack.Type type : indexedTypes) {
+            for (GlyphIcons glyph : type.getGlyphs()) {
+                String name = type.getQualifiedName(glyph.name());
+                String value = hashes.get(name);
+                cache.setProperty(name, value);
+                if (!NO_OUTLINE.equals(value)) {
+                    Entry entry = new Entry(type, glyph, Long.parseUnsignedLong(value, 16));
+                    built.entries.put(name, entry);
+                    built.tree.add(entry.getHash(), entry);
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            storeCache(cache);
+        }
+        return built;
+    }
+
+    private String hash(Entry entry) {
+        BufferedImage image = rasterizer.render(entry.getType(), entry.getGlyph().unicode(), PerceptualHash.IMAGE_SIZE, Color.BLACK);
+        return image == null ? NO_OUTLINE : Long.toHexString(PerceptualHash.of(image));
+    }
+
+    /**
+     * Releases the in-memory index, the on-disk hash cache is kept.
+     */
+    public synchronized void clear() {
+        clearCount++;
+        index = null;
+    }
+
+    public boolean isBuilt() {
+        return index != null;
+    }
+
+    /**
+     * @return the number of indexed glyphs, 0 if not built
+     */
+    public int size() {
+        Index current = index;
+        return current == null ? 0 : current.entries.size();
+    }
+
+    public Optional<Entry> getEntry(GlyphsPack.Type type, String glyphName) {
+        return getEntry(index, type, glyphName);
+    }
+
+    private static Optional<Entry> getEntry(Index current, GlyphsPack.Type type, String glyphName) {
+        return current == null ? Optional.empty() : Optional.ofNullable(current.entries.get(type.getQualifiedName(glyphName)));
+    }
+
+    /**
+     * @param type the font of the glyph
+     * @param glyphName the enum name of the glyph
+     * @param maxDistance the maximum hamming distance of the hashes
+     * @return the similar glyphs of all indexed fonts, most similar first, without the glyph itself
+     */
+    public List<BKTree.Match<Entry>> findSimilar(GlyphsPack.Type type, String glyphName, int maxDistance) {
+        return findSimilar(index, type, glyphName, maxDistance);
+    }
+
+    private static List<BKTree.Match<Entry>> findSimilar(Index current, GlyphsPack.Type type, String glyphName, int maxDistance) {
+        Optional<Entry> entry = getEntry(current, type, glyphName);
+        if (!entry.isPresent()) {
+            return new ArrayList<>();
+        }
+        return current.tree.search(entry.get().getHash(), maxDistance).stream()
+                .filter(match -> match.getValue() != entry.get())
+                .sorted(Comparator.<BKTree.Match<Entry>>comparingInt(BKTree.Match::getDistance)
+                        .thenComparing(match -> match.getValue().getName()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes one line per glyph that has near-duplicates in other fonts.
+     *
+     * @param out where to write the report to
+     * @param maxDistance the maximum hamming distance of the hashes
+     * @throws IOException if writing fails
+     */
+    public void writeReport(Appendable out, int maxDistance) throws IOException {
+        Index current = index;
+        List<Entry> sorted = current == null ? new ArrayList<>() : new ArrayList<>(current.entries.values());
+        sorted.sort(Comparator.comparing(Entry::getName));
+        int duplicates = 0;
+        for (Entry entry : sorted) {
+            List<BKTree.Match<Entry>> crossPack = findSimilar(current, entry.getType(), entry.getGlyph().name(), maxDistance).stream()
+                    .filter(match -> match.getValue().getType() != entry.getType())
+                    .filter(match -> match.getValue().getName().compareTo(entry.getName()) > 0)
+                    .collect(Collectors.toList());
+            if (crossPack.isEmpty()) {
+                continue;
+            }
+            out.append(entry.getName());
+            for (BKTree.Match<Entry> match : crossPack) {
+                out.append("  ~  ").append(match.getValue().getName()).append(" (").append(String.valueOf(match.getDistance())).append(')');
+            }
+            out.append('\n');
+            duplicates++;
+        }
+        out.append(String.format("%d of %d glyphs have near-duplicates (max. distance %d)%n", duplicates, sorted.size(), maxDistance));
+    }
+
+    private Properties loadCache() {
+        Properties cache = new Properties();
+        if (Files.isReadable(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                cache.load(in);
+            } catch (IOException ex) {
+                Logger.getLogger(GlyphSimilarityIndex.class.getName()).log(Level.WARNING, "Ignoring unreadable hash cache " + cacheFile, ex);
+                cache.clear();
+            }
+        }
+        if (!CACHE_FORMAT.equals(cache.getProperty(CACHE_FORMAT_KEY))) {
+            cache.clear();
+            cache.setProperty(CACHE_FORMAT_KEY, CACHE_FORMAT);
+        }
+        return cache;
+    }
+
+    private void storeCache(Properties cache) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            try (OutputStream out = Files.newOutputStream(cacheFile)) {
+                cache.store(out, "Perceptual glyph hashes, generated by " + GlyphsBrowserAppModel.APP_NAME);
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(GlyphSimilarityIndex.class.getName()).log(Level.WARNING, "Could not write hash cache " + cacheFile, ex);
+        }
+    }
+
+}
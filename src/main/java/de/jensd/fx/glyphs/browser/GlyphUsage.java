@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcon;
+import de.jensd.fx.glyphs.GlyphIcons;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number of references to every bundled glyph found by a
+ * {@link GlyphUsageScanner}.
+ *
+ * @author agent
+ */
+public class GlyphUsage {
+
+    private final Path root;
+    private final List<GlyphUsageScanner.Pattern> patterns;
+    private final Map<String, Integer> patternIndex;
+    private final long[] occurrences;
+    private final int[] files;
+    private final long scannedFiles;
+    private final long scannedBytes;
+    private final long durationMillis;
+
+    GlyphUsage(Path root, List<GlyphUsageScanner.Pattern> patterns, Map<String, Integer> patternIndex, long[] occurrences, int[] files, long scannedFiles, long scannedBytes, long durationMillis) {
+        this.root = root;
+        this.patterns = patterns;
+        this.patternIndex = patternIndex;
+        this.occurrences = occurrences;
+        this.files = files;
+        this.scannedFiles = scannedFiles;
+        this.scannedBytes = scannedBytes;
+        this.durationMillis = durationMillis;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public long getScannedFiles() {
+        return scannedFiles;
+    }
+
+    public long getScannedBytes() {
+        return scannedBytes;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * @param qualifiedName the glyph as referenced in code, e.g. "FontAwesomeIcon.SAVE"
+     * @return the number of references
+     */
+    public long getOccurrences(String qualifiedName) {
+        int pattern = indexOf(qualifiedName);
+        return pattern < 0 ? 0 : occurrences[pattern];
+    }
+
+    /**
+     * @param glyph a glyph node of a bundled pack
+     * @return the number of references
+     */
+    public long getOccurrences(GlyphIcon glyph) {
+        return getOccurrences(glyph.typeOfT.getSimpleName() + "." + glyph.getGlyphName());
+    }
+
+    /**
+     * @param qualifiedName the glyph as referenced in code, e.g. "FontAwesomeIcon.SAVE"
+     * @return the number of files referencing the glyph
+     */
+    public int getFiles(String qualifiedName) {
+        int pattern = indexOf(qualifiedName);
+        return pattern < 0 ? 0 : files[pattern];
+    }
+
+    public int getNumberOfUsedGlyphs() {
+        int used = 0;
+        for (long count : occurrences) {
+            if (count > 0) {
+                used++;
+            }
+        }
+        return used;
+    }
+
+    /**
+     * @param type a bundled pack
+     * @return the glyphs of the pack referenced at least once, e.g. to create
+     * a subset or a manifest from
+     */
+    public List<GlyphIcons> getUsedGlyphs(GlyphsPack.Type type) {
+        List<GlyphIcons> used = new ArrayList<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            if (occurrences[i] > 0 && patterns.get(i).getType() == type) {
+                used.add(patterns.get(i).getGlyph());
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Writes a CSV report of all glyphs, the most referenced first and the
+     * unused ones last, in pack order.
+     *
+     * @param out the writer, not closed
+     * @throws IOException if writing fails
+     */
+    public void writeReport(Writer out) throws IOException {
+        List<Integer> order = new ArrayList<>(patterns.size());
+        for (int i = 0; i < patterns.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong((Integer pattern) -> -occurrences[pattern]));
+        out.write("# " + root + ": " + getNumberOfUsedGlyphs() + " of " + patterns.size() + " glyphs used in "
+                + scannedFiles + " files\n");
+        out.write("glyph,pack,occurrences,files\n");
+        for (int pattern : order) {
+            GlyphUsageScanner.Pattern usagePattern = patterns.get(pattern);
+            out.write(usagePattern.getQualifiedName());
+            out.write(',');
+            out.write(usagePattern.getType().name());
+            out.write(',');
+            out.write(Long.toString(occurrences[pattern]));
+            out.write(',');
+            out.write(Integer.toString(files[pattern]));
+            out.write('\n');
+        }
+    }
+
+    private int indexOf(String qualifiedName) {
+        Integer pattern = patternIndex.get(qualifiedName);
+        return pattern == null ? -1 : pattern;
+    }
+
+}
@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcons;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Counts the references to the glyphs of all bundled packs, e.g.
+ * "FontAwesomeIcon.SAVE", in a source tree.
+ * <p>
+ * Every directory is a fork/join task, so the work stealing pool spreads
+ * deep and wide trees over all cores. Files are matched against one
+ * {@link AhoCorasick} automaton of all glyph names in a single pass over
+ * their bytes. Files above {@link #MAP_THRESHOLD} are memory-mapped, smaller
+ * ones are read into a buffer per worker thread, as mapping costs more than
+ * reading for small files and mappings are only released on garbage
+ * collection. Counts are kept per worker thread and summed up at the end.
+ * <p>
+ * Only fully qualified references are found, static imports and FXML
+ * {@code glyphName} attributes are not.
+ *
+ * @author agent
+ */
+public class GlyphUsageScanner {
+
+    public final static Set<String> DEFAULT_EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "java", "kt", "kts", "groovy", "scala", "fxml", "xml")));
+    /**
+     * Build output directories, only skipped directly below the scanned root
+     * or next to a build script ({@link #BUILD_FILES}), so packages like
+     * {@code com/acme/build} are still scanned. Hidden directories like
+     * {@code .git} are always skipped.
+     */
+    public final static Set<String> DEFAULT_OUTPUT_DIRECTORIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "build", "target", "node_modules")));
+    public final static Set<String> BUILD_FILES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "pom.xml", "build.gradle", "build.gradle.kts", "settings.gradle", "settings.gradle.kts", "build.xml", "build.sbt", "package.json")));
+    public final static long MAP_THRESHOLD = 64 * 1024;
+    private final static int FILES_PER_TASK = 64;
+
+    public static class Pattern {
+
+        private final GlyphsPack.Type type;
+        private final GlyphIcons glyph;
+        private final String qualifiedName;
+
+        Pattern(GlyphsPack.Type type, GlyphIcons glyph) {
+            this.type = type;
+            this.glyph = glyph;
+            this.qualifiedName = type.getQualifiedName(glyph.name());
+        }
+
+        public GlyphsPack.Type getType() {
+            return type;
+        }
+
+        public GlyphIcons getGlyph() {
+            return glyph;
+        }
+
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+    }
+
+    private final List<Pattern> patterns = new ArrayList<>();
+    private final Map<String, Integer> patternIndex = new HashMap<>();
+    private final AhoCorasick automaton;
+    private final Set<String> extensions;
+    private final Set<String> outputDirectories;
+    private final int parallelism;
+
+    public GlyphUsageScanner() {
+        this(DEFAULT_EXTENSIONS, Runtime.getRuntime().availableProcessors());
+    }
+
+    public GlyphUsageScanner(Set<String> extensions, int parallelism) {
+        this(extensions, DEFAULT_OUTPUT_DIRECTORIES, parallelism);
+    }
+
+    /**
+     * @param extensions the file extensions to scan, all files if empty
+     * @param outputDirectories the build output directories to skip, see
+     * {@link #DEFAULT_OUTPUT_DIRECTORIES}
+     * @param parallelism the number of worker threads
+     */
+    public GlyphUsageScanner(Set<String> extensions, Set<String> outputDirectories, int parallelism) {
+        this.extensions = extensions;
+        this.outputDirectories = outputDirectories;
+        this.parallelism = parallelism;
+        List<String> names = new ArrayList<>();
+        for (GlyphsPack.Type type : GlyphsPack.Type.values()) {
+            for (GlyphIcons glyph : type.getGlyphs()) {
+                Pattern pattern = new Pattern(type, glyph);
+                if (!patternIndex.containsKey(pattern.getQualifiedName())) {
+                    patternIndex.put(pattern.getQualifiedName(), patterns.size());
+                    patterns.add(pattern);
+                    names.add(pattern.getQualifiedName());
+                }
+            }
+        }
+        automaton = new AhoCorasick(names);
+    }
+
+    /**
+     * @param root the directory (or file) to scan
+     * @return the references found
+     * @throws IOException if the root can not be read
+     */
+    public GlyphUsage scan(Path root) throws IOException {
+        if (!Files.isReadable(root)) {
+            throw new IOException("Can not read " + root);
+        }
+        long start = System.nanoTime();
+        Scan scan = new Scan(root);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            if (Files.isDirectory(root)) {
+                pool.invoke(new DirectoryTask(scan, root));
+            } else {
+                pool.invoke(new FilesTask(scan, Collections.singletonList(root)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (!scan.skippedDirectories.isEmpty()) {
+            Logger.getLogger(GlyphUsageScanner.class.getName()).log(Level.INFO, "Skipped build output directories {0}", scan.skippedDirectories);
+        }
+        long[] occurrences = new long[patterns.size()];
+        int[] files = new int[patterns.size()];
+        long scannedFiles = 0;
+        long scannedBytes = 0;
+        for (Counts counts : scan.allCounts) {
+            for (int i = 0; i < occurrences.length; i++) {
+                occurrences[i] += counts.occurrences[i];
+                files[i] += counts.files[i];
+            }
+            scannedFiles += counts.scannedFiles;
+            scannedBytes += counts.scannedBytes;
+        }
+        return new GlyphUsage(root, Collections.unmodifiableList(patterns), Collections.unmodifiableMap(patternIndex),
+                occurrences, files, scannedFiles, scannedBytes, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean accepts(Path file) {
+        if (extensions.isEmpty()) {
+            return true;
+        }
+        String fileName = file.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        return extension >= 0 && extensions.contains(fileName.substring(extension + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Counts of one worker thread.
+     */
+    private class Counts {
+
+        private final long[] occurrences = new long[patterns.size()];
+        private final int[] files = new int[patterns.size()];
+        // the last file a pattern was counted for
+        private final long[] lastFile = new long[patterns.size()];
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect((int) MAP_THRESHOLD);
+        private long scannedFiles;
+        private long scannedBytes;
+
+        void scan(Path file) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                ByteBuffer content;
+                if (size > Integer.MAX_VALUE) {
+                    Logger.getLogger(GlyphUsageScanner.class.getName()).log(Level.WARNING, "Skipping {0}, too large", file);
+                    return;
+                } else if (size > MAP_THRESHOLD) {
+                    content = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                } else {
+                    buffer.clear();
+                    buffer.limit((int) size);
+                    while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                        // read up to the size of the file
+                    }
+                    buffer.flip();
+                    content = buffer;
+                }
+                long fileNumber = ++scannedFiles;
+                scannedBytes += content.remaining();
+                automaton.scan(content, (pattern, end) -> {
+                    if (isBoundary(content, end - automaton.getPatternLength(pattern) - 1) && isBoundary(content, end)) {
+                        occurrences[pattern]++;
+                        if (lastFile[pattern] != fileNumber) {
+                            lastFile[pattern] = fileNumber;
+                            files[pattern]++;
+                        }
+                    }
+                });
+            } catch (IOException ex) {
+                Logger.getLogger(GlyphUsageScanner.class.getName()).log(Level.WARNING, "Can not read " + file, ex);
+            }
+        }
+    }
+
+    /**
+     * @return true if there is no identifier character at the index, so a
+     * match next to it is not part of a longer name
+     */
+    private static boolean isBoundary(ByteBuffer content, int index) {
+        if (index < content.position() || index >= content.limit()) {
+            return true;
+        }
+        byte b = content.get(index);
+        return !(b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b >= '0' && b <= '9' || b == '_' || b == '$' || b < 0);
+    }
+
+    private class Scan {
+
+        private final Path root;
+        private final Queue<Path> skippedDirectories = new ConcurrentLinkedQueue<>();
+        private final Queue<Counts> allCounts = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Counts> threadCounts = ThreadLocal.withInitial(() -> {
+            Counts counts = new Counts();
+            allCounts.add(counts);
+            return counts;
+        });
+
+        Scan(Path root) {
+            this.root = root;
+        }
+    }
+
+    private class DirectoryTask extends RecursiveAction {
+
+        private final static long serialVersionUID = 1L;
+
+        private final Scan scan;
+        private final Path directory;
+
+        DirectoryTask(Scan scan, Path directory) {
+            this.scan = scan;
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            List<RecursiveAction> subtasks = new ArrayList<>();
+            List<Path> files = new ArrayList<>();
+            List<Path> outputCandidates = new ArrayList<>();
+            boolean projectDirectory = directory.equals(scan.root);
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    String name = entry.getFileName().toString();
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        if (outputDirectories.contains(name)) {
+                            outputCandidates.add(entry);
+                        } else if (!name.startsWith(".")) {
+                            subtasks.add(new DirectoryTask(scan, entry));
+                        }
+                    } else if (attributes.isRegularFile()) {
+                        projectDirectory |= BUILD_FILES.contains(name);
+                        if (accepts(entry)) {
+                            files.add(entry);
+                        }
+                    }
+                }
+            } catch (IOException ex) {
+                Logger.getLogger(GlyphUsageScanner.class.getName()).log(Level.WARNING, "Can not list " + directory, ex);
+            }
+            for (Path outputCandidate : outputCandidates) {
+                if (projectDirectory) {
+                    scan.skippedDirectories.add(outputCandidate);
+                } else {
+                    subtasks.add(new DirectoryTask(scan, outputCandidate));
+                }
+            }
+            // large flat directories are split up as well
+            for (int from = 0; from < files.size(); from += FILES_PER_TASK) {
+                subtasks.add(new FilesTask(scan, files.subList(from, Math.min(files.size(), from + FILES_PER_TASK))));
+            }
+            invokeAll(subtasks);
+        }
+    }
+
+    private class FilesTask extends RecursiveAction {
+
+        private final static long serialVersionUID = 1L;
+
+        private final Scan scan;
+        private final List<Path> files;
+
+        FilesTask(Scan scan, List<Path> files) {
+            this.scan = scan;
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            Counts counts = scan.threadCounts.get();
+            files.forEach(counts::scan);
+        }
+    }
+
+    /**
+     * Scans a directory and writes the CSV report to a file or stdout.
+     *
+     * @param args directory and optional "-o file"
+     * @throws IOException if the directory can not be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: GlyphUsageScanner <directory> [-o <report.csv>]");
+            System.exit(1);
+        }
+        GlyphUsage usage = new GlyphUsageScanner().scan(Paths.get(args[0]));
+        try (Writer out = args.length > 2 && "-o".equals(args[1])
+                ? Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            usage.writeReport(out);
+        }
+        System.err.printf("Scanned %d files, %d MB in %d ms, %d glyphs used%n", usage.getScannedFiles(),
+                usage.getScannedBytes() / (1024 * 1024), usage.getDurationMillis(), usage.getNumberOfUsedGlyphs());
+    }
+
+}
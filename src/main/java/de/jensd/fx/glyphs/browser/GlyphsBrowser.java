@@ -13,34 +13,55 @@
  */
 package de.jensd.fx.glyphs.browser;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import org.controlsfx.control.GridCell;
 import org.controlsfx.control.GridView;
 
 import de.jensd.fx.glyphs.GlyphIcon;
+import de.jensd.fx.glyphs.fontawesome.utils.FontAwesomeIconFactory;
 import javafx.beans.Observable;
 import javafx.beans.value.ObservableValue;
-import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
+import javafx.event.EventTarget;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.control.Tooltip;
 import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 
 /**
  *
@@ -88,8 +109,31 @@ public class GlyphsBrowser extends VBox {
     private TextField searchBar;
     @FXML
     private Label searchBarResultsLabel;
+    @FXML
+    private Pane similarGlyphsPane;
+    @FXML
+    private Button duplicatesReportButton;
+    @FXML
+    private Label selectionLabel;
+    @FXML
+    private Button scanUsageButton;
+    @FXML
+    private Button exportSubsetButton;
+    @FXML
+    private Button exportUsageReportButton;
+    @FXML
+    private CheckBox usedOnlyCheckBox;
+    @FXML
+    private Button copySelectedUnicodesButton;
+    @FXML
+    private Button copySelectedCodeButton;
+
+    private final static int MAX_SIMILAR_GLYPHS = 12;
+    private final static KeyCombination SELECT_ALL = new KeyCodeCombination(KeyCode.A, KeyCombination.SHORTCUT_DOWN);
+    private final static String SIMILAR_GLYPH_SIZE = "24px";
 
     private final GlyphsBrowserAppModel model;
+    private ResourceBundle resourceBundle;
 
     public GlyphsBrowser(GlyphsBrowserAppModel glyphPacksModel) {
         this.model = glyphPacksModel;
@@ -98,7 +142,7 @@ public class GlyphsBrowser extends VBox {
 
     private void init() {
         try {
-            ResourceBundle resourceBundle = ResourceBundle.getBundle(GlyphsBrowserAppModel.RESOURCE_BUNDLE);
+            resourceBundle = ResourceBundle.getBundle(GlyphsBrowserAppModel.RESOURCE_BUNDLE);
             URL fxmlURL = getClass().getResource(GlyphsBrowserAppModel.GLYPH_BROWSER_FXML);
             FXMLLoader fxmlLoader = new FXMLLoader(fxmlURL, resourceBundle);
             fxmlLoader.setRoot(this);
@@ -111,14 +155,40 @@ public class GlyphsBrowser extends VBox {
 
     @FXML
     void initialize() {
-        glyphsGridView.setCellFactory((GridView<GlyphIcon> gridView) -> new GlyphsGridCell());
+        GlyphsSelection selection = model.getGlyphsSelection();
+        glyphsGridView.setCellFactory((GridView<GlyphIcon> gridView) -> new GlyphsGridCell(selection, model.glyphUsageProperty()));
         glyphsGridView.cellHeightProperty().bind(model.glyphSizeProperty());
         glyphsGridView.cellWidthProperty().bind(model.glyphSizeProperty());
         glyphsGridView.addEventFilter(MouseEvent.MOUSE_PRESSED, event -> {
             if (event.getTarget() instanceof GlyphIcon) {
-                model.selectedGlyphIconProperty().set((GlyphIcon) event.getTarget());
+                GlyphIcon glyph = (GlyphIcon) event.getTarget();
+                if (event.isShiftDown()) {
+                    selection.selectRange(glyph, glyphsGridView.getItems());
+                } else if (event.isShortcutDown()) {
+                    selection.toggle(glyph);
+                } else {
+                    selection.select(glyph);
+                }
+                model.selectedGlyphIconProperty().set(glyph);
+            } else if (event.isPrimaryButtonDown() && !event.isShiftDown() && !event.isShortcutDown()
+                    && isEmptyGridSpace(event.getTarget())) {
+                selection.clear();
             }
         });
+        addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (getScene().getFocusOwner() instanceof TextInputControl) {
+                return;
+            }
+            if (SELECT_ALL.match(event)) {
+                onSelectAll();
+                event.consume();
+            } else if (event.getCode() == KeyCode.ESCAPE) {
+                onClearSelection();
+                event.consume();
+            }
+        });
+        selection.revisionProperty().addListener((Observable observable) -> updateSelectionControls());
+        updateSelectionControls();
         fontUrlLabel.setOnAction((ActionEvent t) -> {
             if (model.getHostServices() != null) {
                 model.getHostServices().showDocument(fontUrlLabel.getText());
@@ -138,15 +208,27 @@ public class GlyphsBrowser extends VBox {
         	//Update the Browser
 //        	updateBrowser(glyphsPackListView.getSelectionModel().getSelectedItem());
 
+            model.getGlyphsSelection().setGlyphsPack(newValue);
             // do searching directly if already has keyword
-            this.search(searchBar.getText());
+            if (newValue != null) {
+                updateBrowser(newValue);
+            }
         });
         glyphsPackListView.getSelectionModel().selectFirst();
         model.selectedGlyphIconProperty().addListener((ObservableValue<? extends GlyphIcon> observable, GlyphIcon oldValue, GlyphIcon newValue) -> {
+            long start = System.nanoTime();
             Optional<GlyphIconInfo> value = model.getGlyphIconInfo(newValue);
             if (value.isPresent()) {
                 showGlyphIconsDetails(value.get());
             }
+            showSimilarGlyphs(newValue);
+            model.getMetrics().getDetailPaneBuildLatencyRecorder().record(System.nanoTime() - start);
+        });
+        model.getGlyphsPacks().forEach(this::showRebuiltNodes);
+        model.getGlyphsPacks().addListener((ListChangeListener.Change<? extends GlyphsPack> change) -> {
+            while (change.next()) {
+                change.getAddedSubList().forEach(this::showRebuiltNodes);
+            }
         });
         copyCodeButton.visibleProperty().bind(glyphCodeLabel.textProperty().isEmpty().not());
         copyFactoryCodeButton.visibleProperty().bind(glyphFactoryCodeLabel.textProperty().isEmpty().not());
@@ -157,36 +239,101 @@ public class GlyphsBrowser extends VBox {
 		searchBar.textProperty().addListener((observable , oldValue , newValue) -> {
             this.search(newValue);
 		});
-    }
-
 
-    private void search(String keyword) {
-        //In case search bar has no text inside
-        if (searchBar.getText().isEmpty()) {
+        exportUsageReportButton.disableProperty().bind(model.glyphUsageProperty().isNull());
+        usedOnlyCheckBox.disableProperty().bind(model.glyphUsageProperty().isNull());
+        usedOnlyCheckBox.selectedProperty().addListener((Observable observable) -> search(searchBar.getText()));
+        model.glyphUsageProperty().addListener((Observable observable) -> {
+            if (usedOnlyCheckBox.isSelected()) {
+                search(searchBar.getText());
+            }
+        });
 
-            //Reset all to visible
-            glyphsPackListView.getSelectionModel().getSelectedItem().getGlyphNodes().forEach(glyph -> glyph.setVisible(true));
+        duplicatesReportButton.disableProperty().bind(model.similarityIndexReadyProperty().not());
+        model.similarityIndexReadyProperty().addListener((observable, oldValue, newValue) -> showSimilarGlyphs(model.selectedGlyphIconProperty().get()));
+        model.buildSimilarityIndex();
+    }
 
-            //Reset Search Bar Found Label
-            searchBarResultsLabel.setText("Found : [ All ]");
+    private void showSimilarGlyphs(GlyphIcon glyphIcon) {
+        similarGlyphsPane.getChildren().clear();
+        GlyphsPack glyphsPack = glyphsPackListView.getSelectionModel().getSelectedItem();
+        GlyphSimilarityIndex index = model.getSimilarityIndex();
+        if (glyphIcon == null || glyphsPack == null || glyphsPack.getType() == null || !index.isBuilt()) {
+            return;
+        }
+        List<BKTree.Match<GlyphSimilarityIndex.Entry>> matches = index.findSimilar(glyphsPack.getType(), glyphIcon.getGlyphName(), GlyphSimilarityIndex.DEFAULT_MAX_DISTANCE);
+        matches.stream().limit(MAX_SIMILAR_GLYPHS).forEach(match -> {
+            GlyphSimilarityIndex.Entry entry = match.getValue();
+            Text similarGlyph = FontAwesomeIconFactory.get().createIcon(entry.getGlyph(), SIMILAR_GLYPH_SIZE);
+            similarGlyph.getStyleClass().add("similar-glyph");
+            Tooltip.install(similarGlyph, new Tooltip(entry.getName() + " (" + match.getDistance() + ")"));
+            similarGlyph.setOnMouseClicked(event -> selectGlyph(entry.getType(), entry.getGlyph().name()));
+            similarGlyphsPane.getChildren().add(similarGlyph);
+        });
+    }
 
-            //Show all the items on the GridView
-            updateBrowser(glyphsPackListView.getSelectionModel().getSelectedItem());
+    private void selectGlyph(GlyphsPack.Type type, String glyphName) {
+        model.getGlyphsPacks().stream()
+                .filter(glyphsPack -> glyphsPack.getType() == type)
+                .findFirst()
+                .ifPresent(glyphsPack -> {
+                    selectGlyphsPack(glyphsPack);
+                    glyphsPack.getGlyphNodes().stream()
+                            .filter(glyph -> glyph.getGlyphName().equals(glyphName))
+                            .findFirst()
+                            .ifPresent(glyph -> model.selectedGlyphIconProperty().set(glyph));
+                });
+    }
 
-        } else { //Let's do some search magic
-            glyphsPackListView.getSelectionModel().getSelectedItem().getGlyphNodes().forEach(glyph -> {
 
-                //Glyph name contains search bar text ? [ No case sensitive ]
-                String searchValue = keyword.toLowerCase(); //Speed improvements
-                glyph.setVisible(glyph.getGlyphName().toLowerCase().contains(searchValue)); //visible only if name matches searchValue
-            });
+    private void showRebuiltNodes(GlyphsPack glyphsPack) {
+        // a change listener added after the pack's query cache, which has
+        // applied the search to the new nodes by now
+        glyphsPack.getGlyphNodes().addListener((ListChangeListener.Change<? extends GlyphIcon> change) -> {
+            if (glyphsPack == glyphsPackListView.getSelectionModel().getSelectedItem()) {
+                updateFontInfo(glyphsPack);
+                showSearchResult(glyphsPack);
+            }
+        });
+    }
 
+    private void search(String keyword) {
+        if (glyphsPackListView.getSelectionModel().getSelectedItem() == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        GlyphsPack glyphsPack = glyphsPackListView.getSelectionModel().getSelectedItem();
+        GlyphUsage usage = getUsedOnlyFilter();
+        //Glyph name contains search bar text ? [ No case sensitive ], results of recent keywords are reused,
+        //all glyphs for an empty search bar. The filtered items are updated in place.
+        glyphsPack.getQueryCache().filter(keyword, usage == null ? null : glyph -> usage.getOccurrences(glyph) > 0);
+        showSearchResult(glyphsPack);
+        model.getMetrics().getSearchLatencyRecorder().record(System.nanoTime() - start);
+    }
 
-            //Add the new items
-            glyphsGridView.setItems(glyphsPackListView.getSelectionModel().getSelectedItem().getGlyphNodes().stream().filter(Node::isVisible)
-                    .collect(Collectors.toCollection(FXCollections::observableArrayList)));
-            searchBarResultsLabel.setText("Found : [ " + glyphsGridView.getItems().size()+" ]");
+    /**
+     * Updates the results label and keeps the shown glyph as long as it is
+     * part of the result, otherwise the first result is shown.
+     */
+    private void showSearchResult(GlyphsPack glyphsPack) {
+        GlyphsQueryCache queryCache = glyphsPack.getQueryCache();
+        if (searchBar.getText().isEmpty() && getUsedOnlyFilter() == null) {
+            searchBarResultsLabel.setText("Found : [ All ]");
+        } else {
+            searchBarResultsLabel.setText("Found : [ " + queryCache.getFilteredGlyphNodes().size() + " ]");
         }
+        if (!queryCache.isShown(model.selectedGlyphIconProperty().get())) {
+            if (queryCache.getFilteredGlyphNodes().isEmpty()) {
+                model.selectedGlyphIconProperty().set(null);
+                clearGlyphIconsDetails();
+            } else {
+                model.selectedGlyphIconProperty().set(queryCache.getFilteredGlyphNodes().get(0));
+            }
+        }
+    }
+
+    private GlyphUsage getUsedOnlyFilter() {
+        return usedOnlyCheckBox.isSelected() ? model.glyphUsageProperty().get() : null;
     }
 
     private void showGlyphIconsDetails(GlyphIconInfo glyphIconInfo) {
@@ -202,14 +349,13 @@ public class GlyphsBrowser extends VBox {
 
     private void clearGlyphIconsDetails() {
         glyphPreviewPane.getChildren().clear();
+        similarGlyphsPane.getChildren().clear();
         glyphNameLabel.setText("");
         glyphCodeLabel.setText("");
         glyphFactoryCodeLabel.setText("");
     }
 
-    private void updateBrowser(GlyphsPack glyphPack) {
-        clearGlyphIconsDetails();
-        glyphsGridView.setItems(glyphPack.getGlyphNodes());
+    private void updateFontInfo(GlyphsPack glyphPack) {
         numberOfIconsLabel.setText(glyphPack.getNumberOfIcons() + "");
         fontNameLabel.setText(glyphPack.getName());
         fontFamilyLabel.setText(glyphPack.getFamiliy());
@@ -218,13 +364,16 @@ public class GlyphsBrowser extends VBox {
         fontReleaseDateLabel.setText(glyphPack.getReleaseDate());
         fontUrlLabel.setText(glyphPack.getURL());
         fontWhatsNewLabel.setText(glyphPack.getWhatsNew());
-        if (!glyphPack.getGlyphNodes().isEmpty()) {
-            Optional<GlyphIconInfo> value = model.getGlyphIconInfo(glyphPack.getGlyphNodes().get(0));
-            if (value.isPresent()) {
-                showGlyphIconsDetails(value.get());
-            }
-        }
-        model.selectedGlyphIconProperty().set(glyphPack.getGlyphNodes().get(0));
+    }
+
+    /**
+     * Shows a pack, the grid items are set once per pack and the current
+     * search is applied to it.
+     */
+    private void updateBrowser(GlyphsPack glyphPack) {
+        glyphsGridView.setItems(glyphPack.getQueryCache().getFilteredGlyphNodes());
+        updateFontInfo(glyphPack);
+        search(searchBar.getText());
         
 //        //Lets check what's inside
 //        glyphPack.getGlyphNodes().forEach(glyph->{
@@ -232,6 +381,83 @@ public class GlyphsBrowser extends VBox {
 //        });
     }
 
+    private void updateSelectionControls() {
+        int selected = model.getGlyphsSelection().getSelectedCount();
+        selectionLabel.setText(selected > 1 ? String.format(resourceBundle.getString("label.selectedGlyphs"), selected) : "");
+        copySelectedUnicodesButton.setDisable(selected == 0);
+        copySelectedCodeButton.setDisable(selected == 0);
+    }
+
+    /**
+     * Selects all glyphs shown in the grid, i.e. the current search result, replacing the selection.
+     */
+    @FXML
+    public void onSelectAll() {
+        model.getGlyphsSelection().selectAll(glyphsGridView.getItems());
+    }
+
+    @FXML
+    public void onClearSelection() {
+        model.getGlyphsSelection().clear();
+    }
+
+    /**
+     * @return true if the target is the grid's background, not a cell or a scroll bar
+     */
+    private static boolean isEmptyGridSpace(EventTarget target) {
+        for (Node node = target instanceof Node ? (Node) target : null; node != null; node = node.getParent()) {
+            if (node instanceof GridCell || node instanceof ScrollBar) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @FXML
+    public void onCopySelectedUnicodes() {
+        copySelection((glyphsPack, glyph, text) -> text.append(glyph.unicode()));
+    }
+
+    @FXML
+    public void onCopySelectedCode() {
+        copySelection((glyphsPack, glyph, text) -> text.append(glyphsPack.getType() != null
+                ? glyphsPack.getType().getGlyphCode(glyph.getGlyphName())
+                : glyph.getGlyphName()).append('\n'));
+    }
+
+    private interface SelectionAppender {
+
+        void append(GlyphsPack glyphsPack, GlyphIcon glyph, StringBuilder text);
+    }
+
+    /**
+     * Writes all selected glyphs through a single builder and sets the clipboard once.
+     */
+    private void copySelection(SelectionAppender appender) {
+        GlyphsSelection selection = model.getGlyphsSelection();
+        GlyphsPack glyphsPack = selection.getGlyphsPack();
+        BitSet selected = selection.getSelectedIndices();
+        if (glyphsPack == null || selected.isEmpty()) {
+            return;
+        }
+        List<GlyphIcon> glyphs = glyphsPack.getGlyphNodes();
+        StringBuilder text = new StringBuilder(selected.cardinality() * 64);
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            appender.append(glyphsPack, glyphs.get(i), text);
+        }
+        final ClipboardContent content = new ClipboardContent();
+        content.putString(text.toString());
+        model.getClipboard().setContent(content);
+    }
+
+    public void selectGlyphsPack(GlyphsPack glyphsPack) {
+        glyphsPackListView.getSelectionModel().select(glyphsPack);
+    }
+
+    public void setSearchText(String searchText) {
+        searchBar.setText(searchText);
+    }
+
     @FXML
     public void onCopyUnicode() {
         final ClipboardContent content = new ClipboardContent();
@@ -239,6 +465,112 @@ public class GlyphsBrowser extends VBox {
         model.getClipboard().setContent(content);
     }
     
+    @FXML
+    public void onCopyDuplicatesReport() {
+        Task<String> reportTask = model.writeDuplicatesReport();
+        reportTask.setOnSucceeded(event -> {
+            final ClipboardContent content = new ClipboardContent();
+            content.putString(reportTask.getValue());
+            model.getClipboard().setContent(content);
+        });
+        duplicatesReportButton.disableProperty().bind(model.similarityIndexReadyProperty().not().or(reportTask.runningProperty()));
+    }
+
+    /**
+     * Writes a TrueType font with the selected glyphs or, if none is
+     * selected, with the glyphs currently shown in the grid.
+     */
+    @FXML
+    public void onExportSubset() {
+        GlyphsPack glyphsPack = glyphsPackListView.getSelectionModel().getSelectedItem();
+        if (glyphsPack == null || glyphsPack.getType() == null) {
+            return;
+        }
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setInitialFileName(glyphsPack.getType().getIconClassName() + "-subset.ttf");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("TrueType Font", "*.ttf"));
+        File file = fileChooser.showSaveDialog(getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        BitSet selected = model.getGlyphsSelection().getSelectedIndices();
+        List<GlyphIcon> glyphs = !selected.isEmpty()
+                ? selected.stream().mapToObj(glyphsPack.getGlyphNodes()::get).collect(Collectors.toList())
+                : glyphsGridView.getItems();
+        List<Integer> codePoints = glyphs.stream()
+                .map(glyph -> glyph.unicode().codePointAt(0))
+                .collect(Collectors.toList());
+        Task<Void> exportTask = model.exportSubset(glyphsPack.getType(), codePoints, file.toPath());
+        exportSubsetButton.disableProperty().bind(exportTask.runningProperty());
+    }
+
+    /**
+     * Writes the glyphs currently shown in the grid as Java constants, CSS or
+     * JSON, depending on the chosen file type.
+     */
+    @FXML
+    public void onExportManifest() {
+        GlyphsPack glyphsPack = glyphsPackListView.getSelectionModel().getSelectedItem();
+        if (glyphsPack == null) {
+            return;
+        }
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setInitialFileName(GlyphsManifestWriter.javaIdentifier(glyphsPack.getType() != null
+                ? glyphsPack.getType().getIconClassName() : glyphsPack.getName()) + "Glyphs");
+        for (GlyphsManifestWriter.Format format : GlyphsManifestWriter.Format.values()) {
+            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(format.name(), "*." + format.getExtension()));
+        }
+        File file = fileChooser.showSaveDialog(getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        // the file extension wins, then the chosen filter (not reported by every dialog), then JSON
+        GlyphsManifestWriter.Format format = GlyphsManifestWriter.Format.forFileName(file.getName());
+        if (format == null) {
+            int filter = fileChooser.getExtensionFilters().indexOf(fileChooser.getSelectedExtensionFilter());
+            format = filter >= 0 ? GlyphsManifestWriter.Format.values()[filter] : GlyphsManifestWriter.Format.JSON;
+            file = new File(file.getParentFile(), file.getName() + "." + format.getExtension());
+        }
+        try (GlyphsManifestWriter writer = GlyphsManifestWriter.open(format, file.toPath())) {
+            writer.writePack(glyphsPack, glyphsGridView.getItems());
+        } catch (IOException ex) {
+            Logger.getLogger(GlyphsBrowser.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    @FXML
+    public void onScanUsage() {
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        File directory = directoryChooser.showDialog(getScene().getWindow());
+        if (directory != null) {
+            Task<GlyphUsage> scanTask = model.scanGlyphUsage(directory.toPath());
+            scanUsageButton.disableProperty().bind(scanTask.runningProperty());
+        }
+    }
+
+    /**
+     * Writes the references found by the last usage scan as CSV.
+     */
+    @FXML
+    public void onExportUsageReport() {
+        GlyphUsage usage = model.glyphUsageProperty().get();
+        if (usage == null) {
+            return;
+        }
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setInitialFileName("glyph-usage.csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = fileChooser.showSaveDialog(getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            usage.writeReport(out);
+        } catch (IOException ex) {
+            Logger.getLogger(GlyphsBrowser.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
     @FXML
     public void onCopyCode() {
         final ClipboardContent content = new ClipboardContent();
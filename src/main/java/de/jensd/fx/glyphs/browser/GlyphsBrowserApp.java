@@ -14,12 +14,23 @@
 package de.jensd.fx.glyphs.browser;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 /**
  *
@@ -27,32 +38,105 @@ import javafx.stage.Stage;
  */
 public class GlyphsBrowserApp extends Application {
     public final static String TTF_PATH = "/ttf/Panton.otf";
+    public final static String SERVER_FLAG = "--server";
+    /**
+     * Visits every pack and exits, used to record the AppCDS archive.
+     */
+    public final static String TRAINING_RUN_FLAG = "--training-run";
+    /**
+     * Prints the time from JVM start until the window is shown and exits.
+     */
+    public final static String STARTUP_BENCHMARK_FLAG = "--startup-benchmark";
+    /**
+     * {@code --fonts=<dir>} shows the fonts of another directory than
+     * {@link GlyphsBrowserAppModel#getDefaultCustomFontsDirectory()}.
+     */
+    public final static String FONTS_FLAG = "--fonts";
+    public final static String TIME_TO_WINDOW_MESSAGE = "Time to window: %d ms%n";
+    private final static Duration TRAINING_STEP = Duration.millis(250);
 
-    static {
+    @Override
+    public void start(Stage primaryStage) {
         try {
             Font.loadFont(GlyphsBrowserApp.class.getResource(TTF_PATH).openStream(), 10.0d);
         } catch (IOException ex) {
             Logger.getLogger(GlyphsBrowserApp.class.getName()).log(Level.SEVERE, null, ex);
         }
-    }
-
-    @Override
-    public void start(Stage primaryStage) {
         GlyphsBrowserAppModel model = new GlyphsBrowserAppModel();
         model.setHostServices(getHostServices());
+        model.getMetrics().register();
         GlyphsBrowser iconsBrowser = new GlyphsBrowser(model);
         Scene scene = new Scene(iconsBrowser, GlyphsBrowserAppModel.DEFAULT_WITH, GlyphsBrowserAppModel.DEFAULT_HEIGHT);
         scene.getStylesheets().add(GlyphsBrowserAppModel.APP_STYLES);
         primaryStage.setTitle(GlyphsBrowserAppModel.APP_NAME + " " +  GlyphsBrowserAppModel.APP_VERSION);
         primaryStage.setScene(scene);
+        List<String> args = getParameters().getRaw();
+        if (args.contains(STARTUP_BENCHMARK_FLAG)) {
+            primaryStage.setOnShown(event -> Platform.runLater(() -> {
+                System.out.printf(TIME_TO_WINDOW_MESSAGE, ManagementFactory.getRuntimeMXBean().getUptime());
+                Platform.exit();
+            }));
+        } else if (args.contains(TRAINING_RUN_FLAG)) {
+            primaryStage.setOnShown(event -> runTraining(iconsBrowser, model));
+        } else {
+            watchCustomFonts(model, args);
+        }
         primaryStage.show();
     }
 
+    private void watchCustomFonts(GlyphsBrowserAppModel model, List<String> args) {
+        Path directory = args.stream()
+                .filter(arg -> arg.startsWith(FONTS_FLAG + "="))
+                .map(arg -> Paths.get(arg.substring(FONTS_FLAG.length() + 1)))
+                .findFirst()
+                .orElse(GlyphsBrowserAppModel.getDefaultCustomFontsDirectory());
+        try {
+            Files.createDirectories(directory);
+            model.watchCustomFonts(directory);
+        } catch (IOException ex) {
+            Logger.getLogger(GlyphsBrowserApp.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private void runTraining(GlyphsBrowser iconsBrowser, GlyphsBrowserAppModel model) {
+        Timeline training = new Timeline();
+        Duration time = Duration.ZERO;
+        for (GlyphsPack glyphsPack : model.getGlyphsPacks()) {
+            if (glyphsPack.getGlyphNodes().isEmpty()) {
+                continue;
+            }
+            time = time.add(TRAINING_STEP);
+            training.getKeyFrames().add(new KeyFrame(time, event -> iconsBrowser.selectGlyphsPack(glyphsPack)));
+            time = time.add(TRAINING_STEP);
+            training.getKeyFrames().add(new KeyFrame(time, event -> model.selectedGlyphIconProperty()
+                    .set(glyphsPack.getGlyphNodes().get(glyphsPack.getNumberOfIcons() / 2))));
+            time = time.add(TRAINING_STEP);
+            training.getKeyFrames().add(new KeyFrame(time, event -> iconsBrowser.setSearchText("arrow")));
+            time = time.add(TRAINING_STEP);
+            training.getKeyFrames().add(new KeyFrame(time, event -> iconsBrowser.setSearchText("")));
+        }
+        training.getKeyFrames().add(new KeyFrame(time.add(TRAINING_STEP), event -> Platform.exit()));
+        training.play();
+    }
+
     /**
-     * @param args the command line arguments
+     * @param args the command line arguments, {@code --server[=port]} runs the
+     * {@link GlyphsServer} instead of the UI, see also {@link #FONTS_FLAG},
+     * {@link #TRAINING_RUN_FLAG} and {@link #STARTUP_BENCHMARK_FLAG}. On machines without a display use
+     * {@link GlyphsServer#main(String[])} directly, the JavaFX launcher may
+     * start the toolkit before this method is called.
+     * @throws IOException if the server can not be started
      */
-    public static void main(String[] args) {
-       launch(args);
+    public static void main(String[] args) throws IOException {
+        Optional<String> serverArg = Stream.of(args)
+                .filter(arg -> arg.equals(SERVER_FLAG) || arg.startsWith(SERVER_FLAG + "="))
+                .findFirst();
+        if (serverArg.isPresent()) {
+            String port = serverArg.get().substring(SERVER_FLAG.length());
+            GlyphsServer.main(port.isEmpty() ? new String[0] : new String[]{port.substring(1)});
+        } else {
+            launch(args);
+        }
     }
 
 }
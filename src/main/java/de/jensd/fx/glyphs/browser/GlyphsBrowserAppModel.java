@@ -40,17 +40,34 @@ import de.jensd.fx.glyphs.weathericons.WeatherIcon;
 import de.jensd.fx.glyphs.weathericons.WeatherIconView;
 import de.jensd.fx.glyphs.weathericons.utils.WeatherIconFactory;
 import de.jensd.fx.glyphs.weathericons.utils.WeatherIconNameComparator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javafx.application.HostServices;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.scene.Node;
 import javafx.scene.input.Clipboard;
+import javafx.scene.text.Font;
 
 /**
  *
@@ -70,9 +87,14 @@ public class GlyphsBrowserAppModel {
     public final static String APP_STYLES = "/styles/iconsbrowser.css";
     public final static String RESOURCE_BUNDLE = "i18n/messages";
     public final static String GLYPH_BROWSER_FXML = "/fxml/glyphs_browser.fxml";
+    public final static String APP_DATA_DIR = ".fontawesomefx-glyphsbrowser";
+    public final static String CUSTOM_FONTS_DIR = "fonts";
     public final static int DEFAULT_WITH = 1024;
     public final static int DEFAULT_HEIGHT = 600;
     public final static int DEFAULT_GLYPH_SIZE = 24;
+    public final static GlyphsPack.Type[] GLYPHS_PACK_ORDER = {
+        GlyphsPack.Type.EMOJI_ONE, GlyphsPack.Type.FONT_AWESOME, GlyphsPack.Type.ICONS525, GlyphsPack.Type.MATERIAL_DESIGN_ICONS,
+        GlyphsPack.Type.MATERIAL_ICONS, GlyphsPack.Type.OCTICON, GlyphsPack.Type.WEATHER_ICONS};
     public final static String[] GLYPH_PREVIEW_SIZES = {"8px", "10px", "12px", "16px", "26px", "36px", "46px", "56px", "66px", "86px"};
 
     private ObservableList<GlyphsPack> glyphsPacks;
@@ -80,55 +102,366 @@ public class GlyphsBrowserAppModel {
     private HostServices hostServices;
     private ObjectProperty<GlyphIcon> selectedGlyphIconProperty;
     private Clipboard clipboard;
+    private GlyphSimilarityIndex similarityIndex;
+    private BooleanProperty similarityIndexReadyProperty;
+    private int similarityIndexGeneration;
+    private ObjectProperty<GlyphUsage> glyphUsageProperty;
+    private GlyphsBrowserMetrics metrics;
+    private GlyphsSelection glyphsSelection;
+    private CustomFontsWatcher customFontsWatcher;
+    private final Map<Path, CustomGlyphsPack> customGlyphsPacks = new HashMap<>();
+
+    private static class CustomGlyphsPack {
+
+        private final GlyphsPack glyphsPack;
+        private final Properties fontInfo;
+
+        CustomGlyphsPack(GlyphsPack glyphsPack, Properties fontInfo) {
+            this.glyphsPack = glyphsPack;
+            this.fontInfo = fontInfo;
+        }
+    }
 
     public GlyphsBrowserAppModel() {
         init();
     }
 
     private void init() {
+        for (GlyphsPack.Type type : GLYPHS_PACK_ORDER) {
+            getGlyphsPacks().add(new GlyphsPack(type, new FontInfo(type.getFontInfoPath()), FXCollections.observableArrayList(createGlyphNodes(type))));
+        }
+    }
+
+    private List<GlyphIcon> createGlyphNodes(GlyphsPack.Type type) {
+        switch (type) {
+            case FONT_AWESOME:
+                return Stream.of(FontAwesomeIcon.values())
+                        .sorted(new FontAwesomeIconNameComparator())
+                        .map(i -> createIconView(new FontAwesomeIconView(i)))
+                        .collect(Collectors.toList());
+            case WEATHER_ICONS:
+                return Stream.of(WeatherIcon.values())
+                        .sorted(new WeatherIconNameComparator())
+                        .map(i -> createIconView(new WeatherIconView(i)))
+                        .collect(Collectors.toList());
+            case MATERIAL_DESIGN_ICONS:
+                return Stream.of(MaterialDesignIcon.values())
+                        .sorted(new MaterialDesignIconNameComparator())
+                        .map(i -> createIconView(new MaterialDesignIconView(i)))
+                        .collect(Collectors.toList());
+            case MATERIAL_ICONS:
+                return Stream.of(MaterialIcon.values())
+                        .sorted(new MaterialIconNameComparator())
+                        .map(i -> createIconView(new MaterialIconView(i)))
+                        .collect(Collectors.toList());
+            case OCTICON:
+                return Stream.of(OctIcon.values())
+                        .sorted(new OctIconNameComparator())
+                        .map(i -> createIconView(new OctIconView(i)))
+                        .collect(Collectors.toList());
+            case ICONS525:
+                return Stream.of(Icons525.values())
+                        .sorted(new Icon525NameComparator())
+                        .map(i -> createIconView(new Icons525View(i)))
+                        .collect(Collectors.toList());
+            case EMOJI_ONE:
+                return Stream.of(EmojiOne.values())
+                        .map(i -> createIconView(new EmojiOneView(i)))
+                        .collect(Collectors.toList());
+            default:
+                throw new IllegalArgumentException("Unknown glyphs pack type " + type);
+        }
+    }
+
+    /**
+     * Creates new nodes for the glyphs of the pack, e.g. to check whether the
+     * old ones have been leaking. Must be called on the FX application thread.
+     *
+     * @param glyphsPack the pack to rebuild
+     */
+    public void rebuildGlyphsPack(GlyphsPack glyphsPack) {
+        if (glyphsPack.getType() == null) {
+            return;
+        }
+        glyphsPack.getGlyphNodes().forEach(glyph -> glyph.glyphSizeProperty().unbind());
+        glyphsPack.getGlyphNodes().setAll(createGlyphNodes(glyphsPack.getType()));
+    }
+
+    /**
+     * @param glyphsPack a pack of this model
+     * @return a key unique among the packs: the type of a bundled pack or the
+     * font file of a custom one, custom packs may share a name
+     */
+    public String getGlyphsPackKey(GlyphsPack glyphsPack) {
+        if (glyphsPack.getType() != null) {
+            return glyphsPack.getType().name();
+        }
+        for (Map.Entry<Path, CustomGlyphsPack> customGlyphsPack : customGlyphsPacks.entrySet()) {
+            if (customGlyphsPack.getValue().glyphsPack == glyphsPack) {
+                return customGlyphsPack.getKey().toString();
+            }
+        }
+        return glyphsPack.getName();
+    }
+
+    /**
+     * Creates glyph nodes like the ones of a pack, but not added to any, to
+     * measure what a node costs. Must be called on the FX application thread.
+     *
+     * @param count the minimum number of nodes
+     * @return the nodes, bound to {@link #glyphSizeProperty()} until
+     * {@link #releaseSampleGlyphNodes(List)}
+     */
+    List<GlyphIcon> createSampleGlyphNodes(int count) {
+        List<GlyphIcon> sample = new ArrayList<>(count);
+        while (sample.size() < count) {
+            sample.addAll(createGlyphNodes(GlyphsPack.Type.MATERIAL_DESIGN_ICONS));
+        }
+        return sample;
+    }
+
+    void releaseSampleGlyphNodes(List<GlyphIcon> sample) {
+        sample.forEach(glyph -> glyph.glyphSizeProperty().unbind());
+    }
+
+    /**
+     * Drops the in-memory caches, including the search results of every pack,
+     * and rebuilds the similarity index in the background from its on-disk
+     * hash cache. Must be called on the FX application thread.
+     */
+    public void dropCaches() {
+        getGlyphsPacks().forEach(glyphsPack -> glyphsPack.getQueryCache().clear());
+        getSimilarityIndex().clear();
+        buildSimilarityIndex();
+    }
+
+    /**
+     * Builds the {@link GlyphSimilarityIndex} in a background thread,
+     * {@link #similarityIndexReadyProperty()} turns true once the latest
+     * build is done. Must be called on the FX application thread.
+     */
+    public void buildSimilarityIndex() {
+        similarityIndexReadyProperty().set(false);
+        int generation = ++similarityIndexGeneration;
+        Task<Void> buildTask = new Task<Void>() {
+            @Override
+            protected Void call() throws Exception {
+                getSimilarityIndex().build(EnumSet.allOf(GlyphsPack.Type.class));
+                return null;
+            }
+        };
+        buildTask.setOnSucceeded(event -> {
+            // a build started before a later one or a clear must not report the index ready
+            if (generation == similarityIndexGeneration) {
+                similarityIndexReadyProperty().set(getSimilarityIndex().isBuilt());
+            }
+        });
+        buildTask.setOnFailed(event -> Logger.getLogger(GlyphsBrowserAppModel.class.getName()).log(Level.SEVERE, null, buildTask.getException()));
+        Thread buildThread = new Thread(buildTask, "glyph-similarity-index");
+        buildThread.setDaemon(true);
+        buildThread.start();
+    }
+
+    public BooleanProperty similarityIndexReadyProperty() {
+        if (similarityIndexReadyProperty == null) {
+            similarityIndexReadyProperty = new SimpleBooleanProperty(false);
+        }
+        return similarityIndexReadyProperty;
+    }
+
+    /**
+     * @return the default custom fonts directory in the user's home
+     */
+    public static Path getDefaultCustomFontsDirectory() {
+        return Paths.get(System.getProperty("user.home"), APP_DATA_DIR, CUSTOM_FONTS_DIR);
+    }
+
+    /**
+     * Shows every TrueType and OpenType font in the directory as an extra
+     * {@link GlyphsPack} without a type, updated while the directory
+     * changes. Only the pack of a changed font file is updated and the glyph
+     * nodes of unchanged glyphs are kept, so the selection stays. Replaces a
+     * directory watched before. Must be called on the FX application thread.
+     *
+     * @param directory the directory to watch
+     * @throws IOException if the directory can not be watched
+     */
+    public void watchCustomFonts(Path directory) throws IOException {
+        if (customFontsWatcher != null) {
+            customFontsWatcher.close();
+            customGlyphsPacks.values().forEach(customGlyphsPack -> getGlyphsPacks().remove(customGlyphsPack.glyphsPack));
+            customGlyphsPacks.clear();
+        }
+        customFontsWatcher = new CustomFontsWatcher(directory, new CustomFontsWatcher.Listener() {
+            @Override
+            public void fontChanged(CustomFont font, CustomFont previous) {
+                // the font has to be registered before the nodes are styled with it
+                Font loadedFont = Font.loadFont(font.getFile().toUri().toString(), DEFAULT_GLYPH_SIZE);
+                String family = loadedFont != null ? loadedFont.getFamily() : font.getFamily();
+                CustomFont.Diff diff = previous != null ? font.diff(previous) : null;
+                if (diff != null) {
+                    Logger.getLogger(GlyphsBrowserAppModel.class.getName()).log(Level.INFO, "{0} changed: {1}",
+                            new Object[]{font.getFile().getFileName(), diff});
+                }
+                Platform.runLater(() -> updateCustomGlyphsPack(font, family, diff));
+            }
+
+            @Override
+            public void fontRemoved(CustomFont previous) {
+                Platform.runLater(() -> {
+                    CustomGlyphsPack customGlyphsPack = customGlyphsPacks.remove(previous.getFile());
+                    if (customGlyphsPack != null) {
+                        getGlyphsPacks().remove(customGlyphsPack.glyphsPack);
+                    }
+                });
+            }
+        });
+        customFontsWatcher.start();
+    }
+
+    private void updateCustomGlyphsPack(CustomFont font, String family, CustomFont.Diff diff) {
+        CustomGlyphsPack customGlyphsPack = customGlyphsPacks.get(font.getFile());
+        if (customGlyphsPack == null) {
+            if (font.getGlyphs().isEmpty()) {
+                Logger.getLogger(GlyphsBrowserAppModel.class.getName()).log(Level.INFO, "{0} has no glyphs", font.getFile());
+                return;
+            }
+            Properties fontInfo = new Properties();
+            List<GlyphIcon> glyphNodes = font.getGlyphs().stream()
+                    .map(glyph -> createIconView(new CustomGlyphIcon(glyph.getName(), glyph.getUnicode(), family)))
+                    .collect(Collectors.toList());
+            customGlyphsPack = new CustomGlyphsPack(new GlyphsPack(new FontInfo(fontInfo), FXCollections.observableArrayList(glyphNodes)), fontInfo);
+            customGlyphsPacks.put(font.getFile(), customGlyphsPack);
+            updateCustomFontInfo(customGlyphsPack.fontInfo, font, family, diff);
+            getGlyphsPacks().add(customGlyphsPack.glyphsPack);
+            return;
+        }
+        updateCustomFontInfo(customGlyphsPack.fontInfo, font, family, diff);
+        if (diff == null || diff.isEmpty()) {
+            return;
+        }
+        Map<Integer, GlyphIcon> glyphNodes = new HashMap<>();
+        for (GlyphIcon glyphNode : customGlyphsPack.glyphsPack.getGlyphNodes()) {
+            if (family.equals(((CustomGlyphIcon) glyphNode).getFontFamily())) {
+                glyphNodes.put(glyphNode.unicode().codePointAt(0), glyphNode);
+            }
+        }
+        List<GlyphIcon> updatedGlyphNodes = new ArrayList<>(font.getGlyphs().size());
+        for (CustomFont.Glyph glyph : font.getGlyphs()) {
+            GlyphIcon glyphNode = diff.getChanged().contains(glyph.getCodePoint()) ? null : glyphNodes.get(glyph.getCodePoint());
+            updatedGlyphNodes.add(glyphNode != null ? glyphNode : createIconView(new CustomGlyphIcon(glyph.getName(), glyph.getUnicode(), family)));
+        }
+        customGlyphsPack.glyphsPack.getGlyphNodes().setAll(updatedGlyphNodes);
+    }
+
+    private static void updateCustomFontInfo(Properties fontInfo, CustomFont font, String family, CustomFont.Diff diff) {
+        fontInfo.setProperty("font.name", font.getFullName());
+        fontInfo.setProperty("font.family", family);
+        fontInfo.setProperty("font.version", font.getVersion());
+        fontInfo.setProperty("font.license", "");
+        fontInfo.setProperty("font.released", Instant.ofEpochMilli(font.getLastModified()).toString());
+        fontInfo.setProperty("font.url", font.getFile().toUri().toString());
+        fontInfo.setProperty("font.description", font.getFile().toString());
+        fontInfo.setProperty("font.whatsnew", diff != null ? diff.toString() : "");
+    }
+
+    /**
+     * Scans a source tree for glyph references in a background thread, the
+     * result is set to {@link #glyphUsageProperty()}.
+     *
+     * @param directory the root of the source tree
+     * @return the running scan
+     */
+    public Task<GlyphUsage> scanGlyphUsage(Path directory) {
+        Task<GlyphUsage> scanTask = new Task<GlyphUsage>() {
+            @Override
+            protected GlyphUsage call() throws Exception {
+                return new GlyphUsageScanner().scan(directory);
+            }
+        };
+        scanTask.setOnSucceeded(event -> {
+            GlyphUsage usage = scanTask.getValue();
+            Logger.getLogger(GlyphsBrowserAppModel.class.getName()).log(Level.INFO, "Scanned {0} files in {1} ms, {2} glyphs used",
+                    new Object[]{usage.getScannedFiles(), usage.getDurationMillis(), usage.getNumberOfUsedGlyphs()});
+            glyphUsageProperty().set(usage);
+        });
+        scanTask.setOnFailed(event -> Logger.getLogger(GlyphsBrowserAppModel.class.getName()).log(Level.SEVERE, null, scanTask.getException()));
+        Thread scanThread = new Thread(scanTask, "glyph-usage-scanner");
+        scanThread.setDaemon(true);
+        scanThread.start();
+        return scanTask;
+    }
+
+    /**
+     * Writes a subset of a bundled font in a background thread.
+     *
+     * @param type the font to subset
+     * @param codePoints the code points to keep
+     * @param file the TTF file to write
+     * @return the running export
+     */
+    public Task<Void> exportSubset(GlyphsPack.Type type, List<Integer> codePoints, Path file) {
+        Task<Void> exportTask = new Task<Void>() {
+            @Override
+            protected Void call() throws Exception {
+                ByteBuffer subset = new FontSubsetter(FontSubsetter.readFont(type.getFontPath())).subset(codePoints);
+                FontSubsetter.writeFont(subset, file);
+                return null;
+            }
+        };
+        exportTask.setOnSucceeded(event -> Logger.getLogger(GlyphsBrowserAppModel.class.getName()).log(Level.INFO, "Wrote {0} glyphs to {1}",
+                new Object[]{codePoints.size(), file}));
+        exportTask.setOnFailed(event -> Logger.getLogger(GlyphsBrowserAppModel.class.getName()).log(Level.SEVERE, null, exportTask.getException()));
+        Thread exportThread = new Thread(exportTask, "font-subset-export");
+        exportThread.setDaemon(true);
+        exportThread.start();
+        return exportTask;
+    }
+
+    /**
+     * Writes the near duplicates report of the similarity index in a
+     * background thread, it runs one index query per glyph.
+     *
+     * @return the task, its value is the report
+     */
+    public Task<String> writeDuplicatesReport() {
+        Task<String> reportTask = new Task<String>() {
+            @Override
+            protected String call() throws Exception {
+                StringBuilder report = new StringBuilder();
+                getSimilarityIndex().writeReport(report, GlyphSimilarityIndex.DEFAULT_MAX_DISTANCE);
+                return report.toString();
+            }
+        };
+        reportTask.setOnFailed(event -> Logger.getLogger(GlyphsBrowserAppModel.class.getName()).log(Level.SEVERE, null, reportTask.getException()));
+        Thread reportThread = new Thread(reportTask, "glyph-duplicates-report");
+        reportThread.setDaemon(true);
+        reportThread.start();
+        return reportTask;
+    }
 
-        List<GlyphIcon> fontAwesomeList = Stream.of(FontAwesomeIcon.values())
-                .sorted(new FontAwesomeIconNameComparator())
-                .map(i -> createIconView(new FontAwesomeIconView(i)))
-                .collect(Collectors.toList());
-
-        List<GlyphIcon> weatherIconsList = Stream.of(WeatherIcon.values())
-                .sorted(new WeatherIconNameComparator())
-                .map(i -> createIconView(new WeatherIconView(i)))
-                .collect(Collectors.toList());
-
-        List<GlyphIcon> materialDesignIconsList = Stream.of(MaterialDesignIcon.values())
-                .sorted(new MaterialDesignIconNameComparator())
-                .map(i -> createIconView(new MaterialDesignIconView(i)))
-                .collect(Collectors.toList());
-
-        List<GlyphIcon> materialIconsList = Stream.of(MaterialIcon.values())
-                .sorted(new MaterialIconNameComparator())
-                .map(i -> createIconView(new MaterialIconView(i)))
-                .collect(Collectors.toList());
-
-        List<GlyphIcon> octIconsList = Stream.of(OctIcon.values())
-                .sorted(new OctIconNameComparator())
-                .map(i -> createIconView(new OctIconView(i)))
-                .collect(Collectors.toList());
-
-        List<GlyphIcon> icons525List = Stream.of(Icons525.values())
-                .sorted(new Icon525NameComparator())
-                .map(i -> createIconView(new Icons525View(i)))
-                .collect(Collectors.toList());
-
-        List<GlyphIcon> emojiOneList = Stream.of(EmojiOne.values())
-                .map(i -> createIconView(new EmojiOneView(i)))
-                .collect(Collectors.toList());
-
-        getGlyphsPacks().add(new GlyphsPack(new FontInfo(EMOJIONE_PROPERTIES), FXCollections.observableArrayList(emojiOneList)));
-        getGlyphsPacks().add(new GlyphsPack(new FontInfo(FONTAWESOME_PROPERTIES), FXCollections.observableArrayList(fontAwesomeList)));
-        getGlyphsPacks().add(new GlyphsPack(new FontInfo(ICONS525_PROPERTIES), FXCollections.observableArrayList(icons525List)));
-        getGlyphsPacks().add(new GlyphsPack(new FontInfo(MATERIALDESIGNFONT_PROPERTIES), FXCollections.observableArrayList(materialDesignIconsList)));
-        getGlyphsPacks().add(new GlyphsPack(new FontInfo(MATERIALICONS_PROPERTIES), FXCollections.observableArrayList(materialIconsList)));
-        getGlyphsPacks().add(new GlyphsPack(new FontInfo(OCTICONS_PROPERTIES), FXCollections.observableArrayList(octIconsList)));
-        getGlyphsPacks().add(new GlyphsPack(new FontInfo(WEATHERICONS_PROPERTIES), FXCollections.observableArrayList(weatherIconsList)));
+    /**
+     * @return the result of the last {@link #scanGlyphUsage(Path)} or null
+     */
+    public ObjectProperty<GlyphUsage> glyphUsageProperty() {
+        if (glyphUsageProperty == null) {
+            glyphUsageProperty = new SimpleObjectProperty<>();
+        }
+        return glyphUsageProperty;
+    }
+
+    public GlyphsSelection getGlyphsSelection() {
+        if (glyphsSelection == null) {
+            glyphsSelection = new GlyphsSelection();
+        }
+        return glyphsSelection;
+    }
 
+    public GlyphsBrowserMetrics getMetrics() {
+        if (metrics == null) {
+            metrics = new GlyphsBrowserMetrics(this);
+        }
+        return metrics;
     }
 
     public Clipboard getClipboard() {
@@ -138,6 +471,13 @@ public class GlyphsBrowserAppModel {
         return clipboard;
     }
 
+    public GlyphSimilarityIndex getSimilarityIndex() {
+        if (similarityIndex == null) {
+            similarityIndex = new GlyphSimilarityIndex();
+        }
+        return similarityIndex;
+    }
+
     public HostServices getHostServices() {
         return hostServices;
     }
@@ -172,6 +512,15 @@ public class GlyphsBrowserAppModel {
         return icon;
     }
 
+    private GlyphIconInfo createGlyphIconInfo(GlyphsPack.Type type, String glyphName, String unicode, ObservableList<Node> preview) {
+        return new GlyphIconInfo(
+                type.getQualifiedName(glyphName),
+                unicode,
+                type.getGlyphCode(glyphName),
+                type.getGlyphFactoryCode(glyphName),
+                preview);
+    }
+
     public Optional<GlyphIconInfo> getGlyphIconInfo(GlyphIcon glyphIcon) {
         GlyphIconInfo glyphIconInfo = null;
         if (glyphIcon != null) {
@@ -181,83 +530,60 @@ public class GlyphsBrowserAppModel {
                 for (String previewSize : GLYPH_PREVIEW_SIZES) {
                     preview.add(FontAwesomeIconFactory.get().createIcon(icon, previewSize));
                 }
-                glyphIconInfo = new GlyphIconInfo(
-                        "FontAwesomeIcon." + glyphIcon.getGlyphName(),
-                        icon.unicode(),
-                        "FontAwesomeIconView icon = new FontAwesomeIconView(FontAwesomeIcon." + glyphIcon.getGlyphName() + ");",
-                        "Text icon = FontAwesomeIconFactory.get().createIcon(FontAwesomeIcon." + glyphIcon.getGlyphName() + ");",
-                        preview);
+                glyphIconInfo = createGlyphIconInfo(GlyphsPack.Type.FONT_AWESOME, glyphIcon.getGlyphName(), icon.unicode(), preview);
             } else if (glyphIcon instanceof OctIconView) {
                 OctIcon icon = OctIcon.valueOf(glyphIcon.getGlyphName());
                 ObservableList<Node> preview = FXCollections.observableArrayList();
                 for (String previewSize : GLYPH_PREVIEW_SIZES) {
                     preview.add(OctIconFactory.get().createIcon(icon, previewSize));
                 }
-                glyphIconInfo = new GlyphIconInfo(
-                        "OctIcon." + glyphIcon.getGlyphName(),
-                        icon.unicode(),
-                        "OctIconView icon = new OctIconView(OctIcon." + glyphIcon.getGlyphName() + ");",
-                        "Text icon = OctIconFactory.get().createIcon(OctIcon." + glyphIcon.getGlyphName() + ");",
-                        preview);
+                glyphIconInfo = createGlyphIconInfo(GlyphsPack.Type.OCTICON, glyphIcon.getGlyphName(), icon.unicode(), preview);
             } else if (glyphIcon instanceof MaterialDesignIconView) {
                 MaterialDesignIcon icon = MaterialDesignIcon.valueOf(glyphIcon.getGlyphName());
                 ObservableList<Node> preview = FXCollections.observableArrayList();
                 for (String previewSize : GLYPH_PREVIEW_SIZES) {
                     preview.add(MaterialDesignIconFactory.get().createIcon(icon, previewSize));
                 }
-                glyphIconInfo = new GlyphIconInfo(
-                        "MaterialDesignIcon." + glyphIcon.getGlyphName(),
-                        icon.unicode(),
-                        "MaterialDesignIconView icon = new MaterialDesignIconView(MaterialDesignIcon." + glyphIcon.getGlyphName() + ");",
-                        "Text icon = MaterialDesignIconFactory.get().createIcon(MaterialDesignIcon." + glyphIcon.getGlyphName() + ");",
-                        preview);
+                glyphIconInfo = createGlyphIconInfo(GlyphsPack.Type.MATERIAL_DESIGN_ICONS, glyphIcon.getGlyphName(), icon.unicode(), preview);
             } else if (glyphIcon instanceof MaterialIconView) {
                 MaterialIcon icon = MaterialIcon.valueOf(glyphIcon.getGlyphName());
                 ObservableList<Node> preview = FXCollections.observableArrayList();
                 for (String previewSize : GLYPH_PREVIEW_SIZES) {
                     preview.add(MaterialIconFactory.get().createIcon(icon, previewSize));
                 }
-                glyphIconInfo = new GlyphIconInfo(
-                        "MaterialIcon." + glyphIcon.getGlyphName(),
-                        icon.unicode(),
-                        "MaterialIconView icon = new MaterialIconView(MaterialIcon." + glyphIcon.getGlyphName() + ");",
-                        "Text icon = MaterialIconFactory.get().createIcon(MaterialIcon." + glyphIcon.getGlyphName() + ");",
-                        preview);
+                glyphIconInfo = createGlyphIconInfo(GlyphsPack.Type.MATERIAL_ICONS, glyphIcon.getGlyphName(), icon.unicode(), preview);
             } else if (glyphIcon instanceof Icons525View) {
                 Icons525 icon = Icons525.valueOf(glyphIcon.getGlyphName());
                 ObservableList<Node> preview = FXCollections.observableArrayList();
                 for (String previewSize : GLYPH_PREVIEW_SIZES) {
                     preview.add(Icon525Factory.get().createIcon(icon, previewSize));
                 }
-                glyphIconInfo = new GlyphIconInfo(
-                        "Icons525." + glyphIcon.getGlyphName(),
-                        icon.unicode(),
-                        "Icons525View icon = new FontAwesomeIconView(Icons525." + glyphIcon.getGlyphName() + ");",
-                        "Text icon = Icons525Factory.get().createIcon(Icons525." + glyphIcon.getGlyphName() + ");",
-                        preview);
+                glyphIconInfo = createGlyphIconInfo(GlyphsPack.Type.ICONS525, glyphIcon.getGlyphName(), icon.unicode(), preview);
             } else if (glyphIcon instanceof WeatherIconView) {
                 WeatherIcon icon = WeatherIcon.valueOf(glyphIcon.getGlyphName());
                 ObservableList<Node> preview = FXCollections.observableArrayList();
                 for (String previewSize : GLYPH_PREVIEW_SIZES) {
                     preview.add(WeatherIconFactory.get().createIcon(icon, previewSize));
                 }
-                glyphIconInfo = new GlyphIconInfo(
-                        "WeatherIcon." + glyphIcon.getGlyphName(),
-                        icon.unicode(),
-                        "WeatherIconView icon = new WeatherIconView(WeatherIcon." + glyphIcon.getGlyphName() + ");",
-                        "Text icon = WeatherIconFactory.get().createIcon(WeatherIcon." + glyphIcon.getGlyphName() + ");",
-                        preview);
+                glyphIconInfo = createGlyphIconInfo(GlyphsPack.Type.WEATHER_ICONS, glyphIcon.getGlyphName(), icon.unicode(), preview);
             } else if (glyphIcon instanceof EmojiOneView) {
                 EmojiOne icon = EmojiOne.valueOf(glyphIcon.getGlyphName());
                 ObservableList<Node> preview = FXCollections.observableArrayList();
                 for (String previewSize : GLYPH_PREVIEW_SIZES) {
                     preview.add(WeatherIconFactory.get().createIcon(icon, previewSize));
                 }
-                glyphIconInfo = new GlyphIconInfo(
-                        "EmojiOne." + glyphIcon.getGlyphName(),
-                        icon.unicode(),
-                        "EmojiOneView icon = new EmojiOneView(WeatherIcon." + glyphIcon.getGlyphName() + ");",
-                        "Text icon = EmojiOneViewFactory.get().createIcon(EmojiOne." + glyphIcon.getGlyphName() + ");",
+                glyphIconInfo = createGlyphIconInfo(GlyphsPack.Type.EMOJI_ONE, glyphIcon.getGlyphName(), icon.unicode(), preview);
+            } else if (glyphIcon instanceof CustomGlyphIcon) {
+                CustomGlyphIcon icon = (CustomGlyphIcon) glyphIcon;
+                ObservableList<Node> preview = FXCollections.observableArrayList();
+                for (String previewSize : GLYPH_PREVIEW_SIZES) {
+                    CustomGlyphIcon previewIcon = new CustomGlyphIcon(icon.getGlyphName(), icon.unicode(), icon.getFontFamily());
+                    previewIcon.setSize(previewSize);
+                    preview.add(previewIcon);
+                }
+                glyphIconInfo = new GlyphIconInfo(icon.getGlyphName(), icon.unicode(),
+                        "Text icon = new Text(" + StringLiterals.quote(icon.unicode()) + ");",
+                        "icon.setFont(Font.font(" + StringLiterals.quote(icon.getFontFamily()) + ", 24));",
                         preview);
             }
         }
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.util.Map;
+
+/**
+ * Live metrics and cache controls of a running browser, registered as
+ * {@value GlyphsBrowserMetrics#OBJECT_NAME} for JConsole/VisualVM.
+ * <p>
+ * Per pack values are keyed by the type of a bundled pack or the font file
+ * of a custom pack.
+ *
+ * @author agent
+ */
+public interface GlyphsBrowserMXBean {
+
+    /**
+     * @return the number of glyph nodes per pack
+     */
+    Map<String, Integer> getNodeCounts();
+
+    /**
+     * Measured once, with a GC before and after creating
+     * {@value GlyphsBrowserMetrics#GLYPH_NODE_SAMPLE_SIZE} glyph nodes that
+     * belong to no pack.
+     *
+     * @return the heap a glyph node retains, including its styling and text
+     */
+    long getBytesPerGlyphNode();
+
+    /**
+     * @return the nodes times {@link #getBytesPerGlyphNode()} plus the query
+     * cache bit sets per pack
+     */
+    Map<String, Long> getEstimatedRetainedBytes();
+
+    /**
+     * @return the number of cached search results per pack
+     */
+    Map<String, Integer> getCachedQueries();
+
+    /**
+     * @return the bytes of the cached search result bit sets per pack
+     */
+    Map<String, Long> getQueryCacheBytes();
+
+    /**
+     * @return the number of searches answered from the query cache per pack
+     */
+    Map<String, Long> getQueryCacheHits();
+
+    /**
+     * @return the number of searches answered by filtering a cached result per pack
+     */
+    Map<String, Long> getQueryCacheNarrowed();
+
+    /**
+     * @return the number of searches that had to test every glyph per pack
+     */
+    Map<String, Long> getQueryCacheScans();
+
+    LatencyRecorder.Snapshot getSearchLatency();
+
+    LatencyRecorder.Snapshot getDetailPaneBuildLatency();
+
+    boolean isSimilarityIndexBuilt();
+
+    /**
+     * @return the number of glyphs in the similarity index
+     */
+    int getSimilarityIndexSize();
+
+    /**
+     * @return the last {@link #dropCaches()} or {@link #rebuildGlyphsPack(String)},
+     * empty if there was none
+     */
+    String getLastOperation();
+
+    /**
+     * @return the used heap after a GC right before the last operation, -1 if there was none
+     */
+    long getHeapUsedBeforeLastOperation();
+
+    /**
+     * @return the used heap after a GC right after the last operation, -1 if there was none
+     */
+    long getHeapUsedAfterLastOperation();
+
+    void dropCaches();
+
+    /**
+     * @param glyphsPackKey the key of the pack as in {@link #getNodeCounts()}
+     */
+    void rebuildGlyphsPack(String glyphsPackKey);
+
+    void resetLatencies();
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import de.jensd.fx.glyphs.GlyphIcon;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects the browser metrics and exposes them as {@link GlyphsBrowserMXBean}.
+ * The packs are only read and changed on the FX application thread, JMX reads
+ * and operations are handed over to it. Heap measurements and their GCs stay
+ * on the calling JMX thread, so they do not freeze the UI.
+ *
+ * @author agent
+ */
+public class GlyphsBrowserMetrics implements GlyphsBrowserMXBean {
+
+    public final static String OBJECT_NAME = "de.jensd.fx.glyphs.browser:type=GlyphsBrowser";
+    public final static long FX_THREAD_TIMEOUT_SECONDS = 5;
+    public final static int GLYPH_NODE_SAMPLE_SIZE = 5000;
+
+    private final GlyphsBrowserAppModel model;
+    private final LatencyRecorder searchLatency = new LatencyRecorder();
+    private final LatencyRecorder detailPaneBuildLatency = new LatencyRecorder();
+    private volatile String lastOperation = "";
+    private volatile long heapUsedBeforeLastOperation = -1;
+    private volatile long heapUsedAfterLastOperation = -1;
+    private long bytesPerGlyphNode = -1;
+
+    public GlyphsBrowserMetrics(GlyphsBrowserAppModel model) {
+        this.model = model;
+    }
+
+    public void register() {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(this, objectName);
+            }
+        } catch (JMException ex) {
+            Logger.getLogger(GlyphsBrowserMetrics.class.getName()).log(Level.WARNING, "Could not register " + OBJECT_NAME, ex);
+        }
+    }
+
+    public LatencyRecorder getSearchLatencyRecorder() {
+        return searchLatency;
+    }
+
+    public LatencyRecorder getDetailPaneBuildLatencyRecorder() {
+        return detailPaneBuildLatency;
+    }
+
+    @Override
+    public Map<String, Integer> getNodeCounts() {
+        return perPack(glyphsPack -> glyphsPack.getGlyphNodes().size());
+    }
+
+    @Override
+    public synchronized long getBytesPerGlyphNode() {
+        if (bytesPerGlyphNode < 0) {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            memory.gc();
+            long before = memory.getHeapMemoryUsage().getUsed();
+            List<GlyphIcon> sample = onFxThread(() -> model.createSampleGlyphNodes(GLYPH_NODE_SAMPLE_SIZE));
+            memory.gc();
+            long after = memory.getHeapMemoryUsage().getUsed();
+            bytesPerGlyphNode = Math.max(0, after - before) / sample.size();
+            onFxThread(Executors.callable(() -> model.releaseSampleGlyphNodes(sample)));
+        }
+        return bytesPerGlyphNode;
+    }
+
+    @Override
+    public Map<String, Long> getEstimatedRetainedBytes() {
+        long nodeBytes = getBytesPerGlyphNode();
+        return perPack(glyphsPack -> glyphsPack.getGlyphNodes().size() * nodeBytes + glyphsPack.getQueryCache().getCachedBytes());
+    }
+
+    @Override
+    public Map<String, Integer> getCachedQueries() {
+        return perPack(glyphsPack -> glyphsPack.getQueryCache().getCachedQueries());
+    }
+
+    @Override
+    public Map<String, Long> getQueryCacheBytes() {
+        return perPack(glyphsPack -> glyphsPack.getQueryCache().getCachedBytes());
+    }
+
+    @Override
+    public Map<String, Long> getQueryCacheHits() {
+        return perPack(glyphsPack -> glyphsPack.getQueryCache().getHits());
+    }
+
+    @Override
+    public Map<String, Long> getQueryCacheNarrowed() {
+        return perPack(glyphsPack -> glyphsPack.getQueryCache().getNarrowed());
+    }
+
+    @Override
+    public Map<String, Long> getQueryCacheScans() {
+        return perPack(glyphsPack -> glyphsPack.getQueryCache().getScans());
+    }
+
+    @Override
+    public LatencyRecorder.Snapshot getSearchLatency() {
+        return searchLatency.snapshot();
+    }
+
+    @Override
+    public LatencyRecorder.Snapshot getDetailPaneBuildLatency() {
+        return detailPaneBuildLatency.snapshot();
+    }
+
+    @Override
+    public boolean isSimilarityIndexBuilt() {
+        return model.getSimilarityIndex().isBuilt();
+    }
+
+    @Override
+    public int getSimilarityIndexSize() {
+        return model.getSimilarityIndex().size();
+    }
+
+    @Override
+    public String getLastOperation() {
+        return lastOperation;
+    }
+
+    @Override
+    public long getHeapUsedBeforeLastOperation() {
+        return heapUsedBeforeLastOperation;
+    }
+
+    @Override
+    public long getHeapUsedAfterLastOperation() {
+        return heapUsedAfterLastOperation;
+    }
+
+    @Override
+    public void dropCaches() {
+        measureHeap("dropCaches", model::dropCaches);
+    }
+
+    @Override
+    public void rebuildGlyphsPack(String glyphsPackKey) {
+        GlyphsPack glyphsPack = onFxThread(() -> model.getGlyphsPacks().stream()
+                .filter(pack -> model.getGlyphsPackKey(pack).equals(glyphsPackKey))
+                .findFirst()
+                .orElse(null));
+        if (glyphsPack == null) {
+            throw new IllegalArgumentException("Unknown glyphs pack " + glyphsPackKey + ", known are " + getNodeCounts().keySet());
+        }
+        measureHeap("rebuildGlyphsPack " + glyphsPackKey, () -> model.rebuildGlyphsPack(glyphsPack));
+    }
+
+    @Override
+    public void resetLatencies() {
+        searchLatency.reset();
+        detailPaneBuildLatency.reset();
+    }
+
+    /**
+     * Runs the action on the FX application thread, the GCs and heap reads
+     * around it on the calling thread.
+     */
+    private void measureHeap(String operation, Runnable action) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        onFxThread(Executors.callable(action));
+        memory.gc();
+        heapUsedBeforeLastOperation = before;
+        heapUsedAfterLastOperation = memory.getHeapMemoryUsage().getUsed();
+        lastOperation = operation;
+    }
+
+    private <T> Map<String, T> perPack(Function<GlyphsPack, T> value) {
+        return onFxThread(() -> {
+            Map<String, T> values = new LinkedHashMap<>();
+            for (GlyphsPack glyphsPack : model.getGlyphsPacks()) {
+                values.put(model.getGlyphsPackKey(glyphsPack), value.apply(glyphsPack));
+            }
+            return values;
+        });
+    }
+
+    private static <T> T onFxThread(Callable<T> read) {
+        FutureTask<T> task = new FutureTask<>(read);
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+        } else {
+            Platform.runLater(task);
+        }
+        try {
+            return task.get(FX_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the FX application thread", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            task.cancel(false);
+            throw new IllegalStateException("FX application thread did not respond within " + FX_THREAD_TIMEOUT_SECONDS + " s", ex);
+        }
+    }
+
+}
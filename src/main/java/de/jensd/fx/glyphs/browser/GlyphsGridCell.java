@@ -14,7 +14,12 @@
 package de.jensd.fx.glyphs.browser;
 
 import de.jensd.fx.glyphs.GlyphIcon;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ObservableValue;
 import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
 import org.controlsfx.control.GridCell;
 
 /**
@@ -23,13 +28,24 @@ import org.controlsfx.control.GridCell;
  */
 public class GlyphsGridCell extends GridCell<GlyphIcon> implements SelectableNode{
 
-    public GlyphsGridCell() {
+    private final GlyphsSelection selection;
+    private final ObservableValue<GlyphUsage> usage;
+    private final InvalidationListener selectionListener = observable -> updateSelection();
+    private final InvalidationListener usageListener = observable -> updateGraphic(getItem());
+    private StackPane badgedGraphic;
+    private Label usageBadge;
+
+    public GlyphsGridCell(GlyphsSelection selection, ObservableValue<GlyphUsage> usage) {
+        this.selection = selection;
+        this.usage = usage;
         init();
     }
 
     private void init() {
         getStyleClass().add("glyph-grid-cell");
         setAlignment(Pos.CENTER);
+        selection.revisionProperty().addListener(new WeakInvalidationListener(selectionListener));
+        usage.addListener(new WeakInvalidationListener(usageListener));
     }
 
     /**
@@ -42,15 +58,45 @@ public class GlyphsGridCell extends GridCell<GlyphIcon> implements SelectableNod
         if (empty) {
             setGraphic(null);
         } else {
+            updateGraphic(item);
+        }
+        updateSelection();
+    }
+
+    /**
+     * Shows the number of references found by the last usage scan as a badge
+     * on the glyph.
+     */
+    private void updateGraphic(GlyphIcon item) {
+        if (isEmpty() || item == null) {
+            return;
+        }
+        long occurrences = usage.getValue() != null ? usage.getValue().getOccurrences(item) : 0;
+        if (occurrences == 0) {
             setGraphic(item);
+            return;
+        }
+        if (badgedGraphic == null) {
+            usageBadge = new Label();
+            usageBadge.getStyleClass().add("glyph-usage-badge");
+            usageBadge.setMouseTransparent(true);
+            StackPane.setAlignment(usageBadge, Pos.TOP_RIGHT);
+            badgedGraphic = new StackPane();
         }
+        usageBadge.setText(Long.toString(occurrences));
+        badgedGraphic.getChildren().setAll(item, usageBadge);
+        setGraphic(badgedGraphic);
+    }
+
+    private void updateSelection() {
+        setSelected(!isEmpty() && selection.isSelected(getItem()));
     }
 
     @Override
     public void setSelected(boolean selected) {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        if (isSelected() != selected) {
+            updateSelected(selected);
+        }
     }
 
-    
-    
 }
@@ -0,0 +1,489 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcon;
+import de.jensd.fx.glyphs.GlyphIcons;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writes whole packs or search results as a Java constants class, a CSS
+ * stylesheet or a JSON manifest.
+ * <p>
+ * Every glyph goes straight to the {@link Writer}, nothing but the current
+ * pack is kept, so a manifest of all packs is written in one pass without
+ * building it in memory first:
+ * <pre>
+ * try (GlyphsManifestWriter writer = GlyphsManifestWriter.open(Format.CSS, channel)) {
+ *     writer.writePack(GlyphsPack.Type.FONT_AWESOME);
+ *     writer.writePack(GlyphsPack.Type.OCTICON);
+ * }
+ * </pre>
+ *
+ * @author agent
+ */
+public class GlyphsManifestWriter implements Closeable {
+
+    public enum Format {
+        JAVA("java"), CSS("css"), JSON("json");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @param fileName a file name like "icons.css"
+         * @return the format matching the extension of the file name or null
+         */
+        public static Format forFileName(String fileName) {
+            String lowerCaseName = fileName.toLowerCase(Locale.ROOT);
+            for (Format format : values()) {
+                if (lowerCaseName.endsWith("." + format.extension)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    public final static String DEFAULT_CLASS_NAME = "Glyphs";
+    private final static int BUFFER_SIZE = 64 * 1024;
+    private final static char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private final static String INDENT = "    ";
+    private final static String FONT_FAMILY_CONSTANT = "FONT_FAMILY";
+    private final static Set<String> JAVA_KEYWORDS = new HashSet<>(Arrays.asList(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if",
+            "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private",
+            "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+            "throw", "throws", "transient", "try", "void", "volatile", "while", "true", "false", "null", "_"));
+
+    private final Format format;
+    private final Writer out;
+    private final String className;
+    private final boolean publicClass;
+    private boolean started;
+    private boolean packOpen;
+    private int packCount;
+    private int glyphCount;
+    private String cssClass;
+    // Java names already taken, so different names that sanitize to the same identifier still compile
+    private final Set<String> classNames = new HashSet<>();
+    private final Set<String> constantNames = new HashSet<>();
+
+    public GlyphsManifestWriter(Format format, Writer out) {
+        this(format, out, DEFAULT_CLASS_NAME);
+    }
+
+    /**
+     * @param format the output format
+     * @param out the writer, closed with this writer
+     * @param className the name of the generated class, only used for {@link Format#JAVA}
+     */
+    public GlyphsManifestWriter(Format format, Writer out, String className) {
+        this.format = format;
+        this.out = out;
+        this.className = javaIdentifier(className);
+        // only a valid name matches the file name, a public class has to
+        this.publicClass = this.className.equals(className);
+        classNames.add(this.className);
+    }
+
+    public static GlyphsManifestWriter open(Format format, WritableByteChannel channel) {
+        return open(format, channel, DEFAULT_CLASS_NAME);
+    }
+
+    /**
+     * @param format the output format
+     * @param channel the channel to write UTF-8 to, closed with the writer
+     * @param className the name of the generated class, only used for {@link Format#JAVA}
+     * @return a buffered writer on the channel
+     */
+    public static GlyphsManifestWriter open(Format format, WritableByteChannel channel, String className) {
+        return new GlyphsManifestWriter(format,
+                new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE), className);
+    }
+
+    /**
+     * @param format the output format
+     * @param file the file to create or replace
+     * @return a buffered writer on the file, the class of {@link Format#JAVA}
+     * is named after the file
+     * @throws IOException if the file can not be opened
+     */
+    public static GlyphsManifestWriter open(Format format, Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        return open(format, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                extension > 0 ? fileName.substring(0, extension) : fileName);
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Writes all glyphs of a bundled pack.
+     *
+     * @param type the pack
+     * @throws IOException if writing fails
+     */
+    public void writePack(GlyphsPack.Type type) throws IOException {
+        writePack(type, Arrays.asList(type.getGlyphs()));
+    }
+
+    public void writePack(GlyphsPack.Type type, Iterable<? extends GlyphIcons> glyphs) throws IOException {
+        String fontFamily = null;
+        for (GlyphIcons glyph : glyphs) {
+            if (fontFamily == null) {
+                fontFamily = glyph.fontFamily();
+                beginPack(type.name(), type.getIconClassName(), fontFamily);
+            }
+            writeGlyph(glyph.name(), glyph.unicode());
+        }
+        if (fontFamily == null) {
+            beginPack(type.name(), type.getIconClassName(), type.name());
+        }
+        endPack();
+    }
+
+    /**
+     * Writes glyph nodes as shown in the browser, e.g. a search result.
+     *
+     * @param glyphsPack the pack the glyphs belong to
+     * @param glyphs the glyph nodes
+     * @throws IOException if writing fails
+     */
+    public void writePack(GlyphsPack glyphsPack, List<? extends GlyphIcon> glyphs) throws IOException {
+        GlyphsPack.Type type = glyphsPack.getType();
+        beginPack(type != null ? type.name() : glyphsPack.getName(),
+                type != null ? type.getIconClassName() : glyphsPack.getName(),
+                type == null || glyphs.isEmpty() ? glyphsPack.getFamiliy() : glyphs.get(0).getGlyphFontFamily());
+        for (GlyphIcon glyph : glyphs) {
+            writeGlyph(glyph.getGlyphName(), glyph.unicode());
+        }
+        endPack();
+    }
+
+    /**
+     * Starts a pack, followed by {@link #writeGlyph(String, String)} for each
+     * glyph and {@link #endPack()}.
+     *
+     * @param packName the name of the pack, e.g. "FONT_AWESOME"
+     * @param iconClassName the name of the pack in code, e.g. "FontAwesomeIcon"
+     * @param fontFamily the font family, quoted or not
+     * @throws IOException if writing fails
+     */
+    public void beginPack(String packName, String iconClassName, String fontFamily) throws IOException {
+        if (packOpen) {
+            throw new IllegalStateException("Pack not ended");
+        }
+        begin();
+        String family = unquote(fontFamily);
+        switch (format) {
+            case JAVA:
+                String nestedClassName = uniqueJavaIdentifier(iconClassName, classNames);
+                constantNames.clear();
+                constantNames.add(FONT_FAMILY_CONSTANT);
+                out.write(INDENT + "public final static class ");
+                out.write(nestedClassName);
+                out.write(" {\n\n" + INDENT + INDENT + "public final static String " + FONT_FAMILY_CONSTANT + " = ");
+                writeQuoted(family);
+                out.write(";\n\n" + INDENT + INDENT + "private ");
+                out.write(nestedClassName);
+                out.write("() {\n" + INDENT + INDENT + "}\n\n");
+                break;
+            case CSS:
+                cssClass = cssIdentifier(iconClassName);
+                out.write("\n/* ");
+                out.write(packName.replace("*/", "* /"));
+                out.write(" */\n.");
+                out.write(cssClass);
+                out.write(" {\n" + INDENT + "font-family: ");
+                writeCssQuoted(family);
+                out.write(";\n}\n");
+                break;
+            case JSON:
+                out.write(packCount > 0 ? ",\n{\"pack\":" : "\n{\"pack\":");
+                writeQuoted(packName);
+                out.write(",\"iconClass\":");
+                writeQuoted(iconClassName);
+                out.write(",\"fontFamily\":");
+                writeQuoted(family);
+                out.write(",\"glyphs\":[");
+                break;
+        }
+        packOpen = true;
+        glyphCount = 0;
+    }
+
+    /**
+     * @param glyphName the name of the glyph, e.g. "SAVE"
+     * @param unicode the character(s) of the glyph
+     * @throws IOException if writing fails
+     */
+    public void writeGlyph(String glyphName, String unicode) throws IOException {
+        if (!packOpen) {
+            throw new IllegalStateException("No pack started");
+        }
+        switch (format) {
+            case JAVA:
+                out.write(INDENT + INDENT + "public final static String ");
+                out.write(uniqueJavaIdentifier(glyphName, constantNames));
+                out.write(" = ");
+                writeQuoted(unicode);
+                out.write(";\n");
+                break;
+            case CSS:
+                out.write('.');
+                out.write(cssClass);
+                out.write('-');
+                out.write(cssIdentifier(glyphName));
+                out.write(":before { content: \"");
+                for (int i = 0; i < unicode.length(); i += Character.charCount(unicode.codePointAt(i))) {
+                    out.write('\\');
+                    writeHex(unicode.codePointAt(i), 1);
+                }
+                out.write("\"; }\n");
+                break;
+            case JSON:
+                out.write(glyphCount > 0 ? ",\n{\"name\":" : "\n{\"name\":");
+                writeQuoted(glyphName);
+                out.write(",\"unicode\":");
+                writeQuoted(unicode);
+                out.write(",\"codePoint\":\"");
+                writeHex(unicode.codePointAt(0), 4);
+                out.write("\"}");
+                break;
+        }
+        glyphCount++;
+    }
+
+    public void endPack() throws IOException {
+        if (!packOpen) {
+            throw new IllegalStateException("No pack started");
+        }
+        switch (format) {
+            case JAVA:
+                out.write(INDENT + "}\n\n");
+                break;
+            case JSON:
+                out.write("\n]}");
+                break;
+            default:
+                break;
+        }
+        packOpen = false;
+        packCount++;
+    }
+
+    /**
+     * Completes the document and closes the underlying writer.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (packOpen) {
+                endPack();
+            }
+            begin();
+            switch (format) {
+                case JAVA:
+                    out.write("}\n");
+                    break;
+                case JSON:
+                    out.write("\n]}\n");
+                    break;
+                default:
+                    break;
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private void begin() throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+        switch (format) {
+            case JAVA:
+                out.write("/**\n * Generated by the FontAwesomeFX GlyphsBrowser.\n */\n");
+                out.write(publicClass ? "public final class " : "final class ");
+                out.write(className);
+                out.write(" {\n\n" + INDENT + "private ");
+                out.write(className);
+                out.write("() {\n" + INDENT + "}\n\n");
+                break;
+            case CSS:
+                out.write("/* Generated by the FontAwesomeFX GlyphsBrowser. */\n");
+                break;
+            case JSON:
+                out.write("{\"packs\":[");
+                break;
+        }
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        out.write(StringLiterals.quote(value));
+    }
+
+    /**
+     * CSS string, all characters outside of printable ASCII are written as
+     * hex escapes terminated by a space.
+     */
+    private void writeCssQuoted(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i += Character.charCount(value.codePointAt(i))) {
+            int codePoint = value.codePointAt(i);
+            if (codePoint == '"' || codePoint == '\\') {
+                out.write('\\');
+                out.write(codePoint);
+            } else if (codePoint < 0x20 || codePoint > 0x7e) {
+                out.write('\\');
+                writeHex(codePoint, 1);
+                out.write(' ');
+            } else {
+                out.write(codePoint);
+            }
+        }
+        out.write('"');
+    }
+
+    private void writeHex(int value, int minDigits) throws IOException {
+        int digits = Math.max(minDigits, (32 - Integer.numberOfLeadingZeros(value) + 3) / 4);
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.write(HEX_DIGITS[(value >>> shift) & 0xF]);
+        }
+    }
+
+    private static String unquote(String fontFamily) {
+        String family = fontFamily.trim();
+        if (family.length() > 1 && (family.charAt(0) == '\'' || family.charAt(0) == '"')
+                && family.charAt(family.length() - 1) == family.charAt(0)) {
+            return family.substring(1, family.length() - 1);
+        }
+        return family;
+    }
+
+    /**
+     * @param name any name
+     * @param used the identifiers already used in the same scope, the
+     * returned one is added
+     * @return {@link #javaIdentifier(String)} with a "_2", "_3", ... suffix if
+     * it is already used
+     */
+    static String uniqueJavaIdentifier(String name, Set<String> used) {
+        String identifier = javaIdentifier(name);
+        String unique = identifier;
+        for (int i = 2; !used.add(unique); i++) {
+            unique = identifier + "_" + i;
+        }
+        return unique;
+    }
+
+    /**
+     * @param name any name
+     * @return a valid Java identifier, invalid characters replaced by '_' and
+     * keywords suffixed with '_'
+     */
+    static String javaIdentifier(String name) {
+        StringBuilder identifier = new StringBuilder(name.length() + 1);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            identifier.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        if (identifier.length() == 0 || !Character.isJavaIdentifierStart(identifier.charAt(0))) {
+            identifier.insert(0, '_');
+        }
+        if (JAVA_KEYWORDS.contains(identifier.toString())) {
+            identifier.append('_');
+        }
+        return identifier.toString();
+    }
+
+    private static String cssIdentifier(String name) {
+        StringBuilder identifier = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            identifier.append(c < 0x80 && Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : '-');
+        }
+        return identifier.toString();
+    }
+
+    /**
+     * Writes a manifest of the given packs, or all packs, to a file or stdout.
+     *
+     * @param args format, optional "-o file" and pack names
+     * @throws IOException if writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: GlyphsManifestWriter <" + Arrays.toString(Format.values()) + "> [-o <file>] ["
+                    + Arrays.toString(GlyphsPack.Type.values()) + "]...");
+            System.exit(1);
+        }
+        Format format = Format.valueOf(args[0].toUpperCase(Locale.ROOT));
+        Path file = null;
+        List<GlyphsPack.Type> types = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if ("-o".equals(args[i]) && i + 1 < args.length) {
+                file = Paths.get(args[++i]);
+            } else {
+                types.add(GlyphsPack.Type.valueOf(args[i]));
+            }
+        }
+        if (types.isEmpty()) {
+            types.addAll(Arrays.asList(GlyphsPack.Type.values()));
+        }
+        long start = System.nanoTime();
+        try (GlyphsManifestWriter writer = file != null
+                ? open(format, file)
+                : new GlyphsManifestWriter(format, new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            for (GlyphsPack.Type type : types) {
+                writer.writePack(type);
+            }
+        }
+        if (file != null) {
+            System.out.printf("Wrote %d packs to %s in %d ms%n", types.size(), file, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+}
@@ -14,6 +14,22 @@
 package de.jensd.fx.glyphs.browser;
 
 import de.jensd.fx.glyphs.GlyphIcon;
+import de.jensd.fx.glyphs.GlyphIcons;
+import de.jensd.fx.glyphs.emojione.EmojiOne;
+import de.jensd.fx.glyphs.emojione.EmojiOneView;
+import de.jensd.fx.glyphs.fontawesome.FontAwesomeIcon;
+import de.jensd.fx.glyphs.fontawesome.FontAwesomeIconView;
+import de.jensd.fx.glyphs.icons525.Icons525;
+import de.jensd.fx.glyphs.icons525.Icons525View;
+import de.jensd.fx.glyphs.materialdesignicons.MaterialDesignIcon;
+import de.jensd.fx.glyphs.materialdesignicons.MaterialDesignIconView;
+import de.jensd.fx.glyphs.materialicons.MaterialIcon;
+import de.jensd.fx.glyphs.materialicons.MaterialIconView;
+import de.jensd.fx.glyphs.octicons.OctIcon;
+import de.jensd.fx.glyphs.octicons.OctIconView;
+import de.jensd.fx.glyphs.weathericons.WeatherIcon;
+import de.jensd.fx.glyphs.weathericons.WeatherIconView;
+import java.util.function.Supplier;
 import javafx.collections.ObservableList;
 
 /**
@@ -22,16 +38,95 @@ import javafx.collections.ObservableList;
  */
 public class GlyphsPack {
 
+    /**
+     * The bundled icon fonts. Only plain resources and the icon enums are
+     * referenced here, so a type can be used without a running JavaFX toolkit.
+     */
     public enum Type {
-        FONT_AWESOME, OCTICON, MATERIAL_DESIGN_ICONS, MATERIAL_ICONS, WEATHER_ICONS, ICONS525;
+        FONT_AWESOME("FontAwesomeIcon", "FontAwesomeIconView", "FontAwesomeIconFactory", FontAwesomeIconView.TTF_PATH, GlyphsBrowserAppModel.FONTAWESOME_PROPERTIES, FontAwesomeIcon::values),
+        OCTICON("OctIcon", "OctIconView", "OctIconFactory", OctIconView.TTF_PATH, GlyphsBrowserAppModel.OCTICONS_PROPERTIES, OctIcon::values),
+        MATERIAL_DESIGN_ICONS("MaterialDesignIcon", "MaterialDesignIconView", "MaterialDesignIconFactory", MaterialDesignIconView.TTF_PATH, GlyphsBrowserAppModel.MATERIALDESIGNFONT_PROPERTIES, MaterialDesignIcon::values),
+        MATERIAL_ICONS("MaterialIcon", "MaterialIconView", "MaterialIconFactory", MaterialIconView.TTF_PATH, GlyphsBrowserAppModel.MATERIALICONS_PROPERTIES, MaterialIcon::values),
+        WEATHER_ICONS("WeatherIcon", "WeatherIconView", "WeatherIconFactory", WeatherIconView.TTF_PATH, GlyphsBrowserAppModel.WEATHERICONS_PROPERTIES, WeatherIcon::values),
+        ICONS525("Icons525", "Icons525View", "Icon525Factory", Icons525View.TTF_PATH, GlyphsBrowserAppModel.ICONS525_PROPERTIES, Icons525::values),
+        EMOJI_ONE("EmojiOne", "EmojiOneView", "EmojiOneViewFactory", EmojiOneView.TTF_PATH, GlyphsBrowserAppModel.EMOJIONE_PROPERTIES, EmojiOne::values);
+
+        private final String iconClassName;
+        private final String viewClassName;
+        private final String factoryClassName;
+        private final String fontPath;
+        private final String fontInfoPath;
+        private final Supplier<GlyphIcons[]> glyphs;
+
+        Type(String iconClassName, String viewClassName, String factoryClassName, String fontPath, String fontInfoPath, Supplier<GlyphIcons[]> glyphs) {
+            this.iconClassName = iconClassName;
+            this.viewClassName = viewClassName;
+            this.factoryClassName = factoryClassName;
+            this.fontPath = fontPath;
+            this.fontInfoPath = fontInfoPath;
+            this.glyphs = glyphs;
+        }
+
+        /**
+         * @return the simple name of the icon enum, e.g. "FontAwesomeIcon"
+         */
+        public String getIconClassName() {
+            return iconClassName;
+        }
+
+        /**
+         * @param glyphName the enum name of a glyph
+         * @return the glyph as it is referenced in code, e.g. "FontAwesomeIcon.SAVE"
+         */
+        public String getQualifiedName(String glyphName) {
+            return iconClassName + "." + glyphName;
+        }
+
+        public String getGlyphCode(String glyphName) {
+            return viewClassName + " icon = new " + viewClassName + "(" + getQualifiedName(glyphName) + ");";
+        }
+
+        public String getGlyphFactoryCode(String glyphName) {
+            return "Text icon = " + factoryClassName + ".get().createIcon(" + getQualifiedName(glyphName) + ");";
+        }
+
+        /**
+         * @return the classpath resource of the font file
+         */
+        public String getFontPath() {
+            return fontPath;
+        }
+
+        public String getFontInfoPath() {
+            return fontInfoPath;
+        }
+
+        public GlyphIcons[] getGlyphs() {
+            return glyphs.get();
+        }
     }
 
+    private final Type type;
     private final FontInfo fontInfo;
     private final ObservableList<GlyphIcon> glyphNodesList;
+    private final GlyphsQueryCache queryCache;
 
     public GlyphsPack(FontInfo fontInfo, ObservableList<GlyphIcon> glyphNodesList) {
+        this(null, fontInfo, glyphNodesList);
+    }
+
+    public GlyphsPack(Type type, FontInfo fontInfo, ObservableList<GlyphIcon> glyphNodesList) {
+        this.type = type;
         this.fontInfo = fontInfo;
         this.glyphNodesList = glyphNodesList;
+        this.queryCache = new GlyphsQueryCache(glyphNodesList);
+    }
+
+    /**
+     * @return the bundled font type of this pack or null for a pack without one
+     */
+    public Type getType() {
+        return type;
     }
 
     public FontInfo getFontInfo() {
@@ -42,6 +137,13 @@ public class GlyphsPack {
         return glyphNodesList;
     }
 
+    /**
+     * @return the search results of this pack
+     */
+    public GlyphsQueryCache getQueryCache() {
+        return queryCache;
+    }
+
     public int getNumberOfIcons() {
         return getGlyphNodes().size();
     }
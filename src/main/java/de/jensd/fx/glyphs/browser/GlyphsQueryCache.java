@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcon;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+
+/**
+ * The search results of one {@link GlyphsPack}. The results of the most
+ * recent queries are kept as bit sets over the glyph nodes: a repeated query,
+ * e.g. after a backspace, is answered from the cache and a query containing a
+ * cached one, e.g. "arrow" after "arr", only filters the cached result.
+ * <p>
+ * The nodes shown in the grid are a single {@link FilteredList} whose
+ * predicate is replaced on every search, so the grid keeps its items list.
+ * When the glyph nodes are replaced, the last search is applied to the new
+ * nodes. Must be used on the FX application thread.
+ *
+ * @author agent
+ */
+public class GlyphsQueryCache {
+
+    public final static int MAX_CACHED_QUERIES = 32;
+
+    private final ObservableList<GlyphIcon> glyphNodes;
+    private final FilteredList<GlyphIcon> filteredGlyphNodes;
+    private final Map<String, BitSet> results = new LinkedHashMap<String, BitSet>(MAX_CACHED_QUERIES * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BitSet> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+    private String[] glyphNames;
+    private Map<GlyphIcon, Integer> indices;
+    private String keyword = "";
+    private Predicate<GlyphIcon> filter;
+    private Predicate<GlyphIcon> shown;
+    private long hits;
+    private long narrowed;
+    private long scans;
+
+    /**
+     * @param glyphNodes the glyph nodes of the pack, the cache is cleared
+     * whenever they change
+     */
+    public GlyphsQueryCache(ObservableList<GlyphIcon> glyphNodes) {
+        this.glyphNodes = glyphNodes;
+        this.filteredGlyphNodes = new FilteredList<>(glyphNodes);
+        // Change listeners run in the order they were added and after all
+        // invalidation listeners, so this one runs once the filtered list has
+        // caught up with the new nodes; setting its predicate any earlier
+        // refilters with the old size. Listeners added later, e.g. by the
+        // browser, see the new nodes filtered.
+        glyphNodes.addListener((ListChangeListener.Change<? extends GlyphIcon> change) -> {
+            clear();
+            filter(keyword, filter);
+        });
+    }
+
+    /**
+     * @return the glyph nodes matching the last {@link #filter(String, Predicate)}
+     */
+    public FilteredList<GlyphIcon> getFilteredGlyphNodes() {
+        return filteredGlyphNodes;
+    }
+
+    /**
+     * Shows the glyphs whose name contains the keyword, ignoring case.
+     *
+     * @param keyword the keyword, all glyphs for an empty keyword
+     * @param filter an additional filter or null
+     */
+    public void filter(String keyword, Predicate<GlyphIcon> filter) {
+        this.keyword = keyword;
+        this.filter = filter;
+        if (keyword.isEmpty()) {
+            shown = filter;
+        } else {
+            BitSet result = query(keyword);
+            Map<GlyphIcon, Integer> resultIndices = indices();
+            shown = glyph -> {
+                Integer index = resultIndices.get(glyph);
+                return index != null && result.get(index) && (filter == null || filter.test(glyph));
+            };
+        }
+        filteredGlyphNodes.setPredicate(shown);
+    }
+
+    /**
+     * @param glyph any glyph node
+     * @return true if the glyph is one of the nodes matching the last
+     * {@link #filter(String, Predicate)}, without searching the filtered list
+     */
+    public boolean isShown(GlyphIcon glyph) {
+        return glyph != null && indices().containsKey(glyph) && (shown == null || shown.test(glyph));
+    }
+
+    /**
+     * @param keyword a non empty keyword
+     * @return the indices of the glyph nodes whose name contains the keyword,
+     * ignoring case, do not modify
+     */
+    public BitSet query(String keyword) {
+        String searchValue = keyword.toLowerCase();
+        BitSet result = results.get(searchValue);
+        if (result != null) {
+            hits++;
+            return result;
+        }
+        String[] names = glyphNames();
+        BitSet candidates = null;
+        String candidatesQuery = "";
+        for (Map.Entry<String, BitSet> cached : results.entrySet()) {
+            // every name containing the search value also contains a part of it
+            if (cached.getKey().length() > candidatesQuery.length() && searchValue.contains(cached.getKey())) {
+                candidatesQuery = cached.getKey();
+                candidates = cached.getValue();
+            }
+        }
+        result = new BitSet(names.length);
+        if (candidates != null) {
+            narrowed++;
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (names[i].contains(searchValue)) {
+                    result.set(i);
+                }
+            }
+        } else {
+            scans++;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].contains(searchValue)) {
+                    result.set(i);
+                }
+            }
+        }
+        results.put(searchValue, result);
+        return result;
+    }
+
+    /**
+     * Drops the cached results, the shown glyph nodes are not changed.
+     */
+    public void clear() {
+        results.clear();
+        glyphNames = null;
+        indices = null;
+    }
+
+    public int getCachedQueries() {
+        return results.size();
+    }
+
+    /**
+     * @return the bytes of the cached result bit sets
+     */
+    public long getCachedBytes() {
+        long bytes = 0;
+        for (BitSet result : results.values()) {
+            bytes += result.size() / Byte.SIZE;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the number of queries answered from the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of queries answered by filtering a cached result
+     */
+    public long getNarrowed() {
+        return narrowed;
+    }
+
+    /**
+     * @return the number of queries that had to test every glyph
+     */
+    public long getScans() {
+        return scans;
+    }
+
+    private String[] glyphNames() {
+        if (glyphNames == null) {
+            glyphNames = new String[glyphNodes.size()];
+            for (int i = 0; i < glyphNames.length; i++) {
+                glyphNames[i] = glyphNodes.get(i).getGlyphName().toLowerCase();
+            }
+        }
+        return glyphNames;
+    }
+
+    private Map<GlyphIcon, Integer> indices() {
+        if (indices == null) {
+            indices = new IdentityHashMap<>(glyphNodes.size() * 2);
+            for (int i = 0; i < glyphNodes.size(); i++) {
+                indices.put(glyphNodes.get(i), i);
+            }
+        }
+        return indices;
+    }
+
+}
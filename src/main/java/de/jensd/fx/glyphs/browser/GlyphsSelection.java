@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcon;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.collections.transformation.FilteredList;
+
+/**
+ * Multi-selection of glyphs, kept as one {@link BitSet} per pack over the
+ * index of the glyphs in {@link GlyphsPack#getGlyphNodes()}, so selecting a
+ * contiguous range costs a few word operations regardless of its size and
+ * the glyph nodes carry no selection state.
+ * <p>
+ * The selection of every pack is kept when switching packs, cell and label
+ * updates hang on {@link #revisionProperty()}.
+ *
+ * @author agent
+ */
+public class GlyphsSelection {
+
+    private final Map<GlyphsPack, BitSet> selections = new IdentityHashMap<>();
+    private final Map<GlyphsPack, Map<GlyphIcon, Integer>> indices = new IdentityHashMap<>();
+    private final ReadOnlyIntegerWrapper revision = new ReadOnlyIntegerWrapper();
+    private GlyphsPack glyphsPack;
+    private int anchor = -1;
+
+    /**
+     * @return increments on every change of the selection
+     */
+    public ReadOnlyIntegerProperty revisionProperty() {
+        return revision.getReadOnlyProperty();
+    }
+
+    /**
+     * @param glyphsPack the pack the selection operations apply to
+     */
+    public void setGlyphsPack(GlyphsPack glyphsPack) {
+        if (this.glyphsPack != glyphsPack) {
+            this.glyphsPack = glyphsPack;
+            anchor = -1;
+            changed();
+        }
+    }
+
+    public GlyphsPack getGlyphsPack() {
+        return glyphsPack;
+    }
+
+    /**
+     * @return the live selection of the current pack, do not modify
+     */
+    public BitSet getSelectedIndices() {
+        return glyphsPack == null ? new BitSet() : bits(glyphsPack);
+    }
+
+    public int getSelectedCount() {
+        return glyphsPack == null ? 0 : bits(glyphsPack).cardinality();
+    }
+
+    public boolean isSelected(GlyphIcon glyph) {
+        int index = indexOf(glyph);
+        return index >= 0 && bits(glyphsPack).get(index);
+    }
+
+    /**
+     * Selects only the glyph and makes it the anchor for range selections.
+     */
+    public void select(GlyphIcon glyph) {
+        int index = indexOf(glyph);
+        if (index >= 0) {
+            BitSet bits = bits(glyphsPack);
+            bits.clear();
+            bits.set(index);
+            anchor = index;
+            changed();
+        }
+    }
+
+    public void toggle(GlyphIcon glyph) {
+        int index = indexOf(glyph);
+        if (index >= 0) {
+            bits(glyphsPack).flip(index);
+            anchor = index;
+            changed();
+        }
+    }
+
+    /**
+     * Adds all glyphs from the anchor to the given glyph, in the order they
+     * are shown.
+     *
+     * @param glyph the end of the range
+     * @param shownGlyphs the glyphs as shown in the grid, either the pack's
+     * own list, its {@link GlyphsQueryCache#getFilteredGlyphNodes()} or any
+     * other list of its nodes
+     */
+    public void selectRange(GlyphIcon glyph, List<? extends GlyphIcon> shownGlyphs) {
+        int index = indexOf(glyph);
+        if (index < 0) {
+            return;
+        }
+        if (anchor < 0) {
+            select(glyph);
+            return;
+        }
+        BitSet bits = bits(glyphsPack);
+        FilteredList<? extends GlyphIcon> filteredGlyphs = filteredPackGlyphs(shownGlyphs);
+        if (shownGlyphs == glyphsPack.getGlyphNodes() || filteredGlyphs != null && filteredGlyphs.getPredicate() == null) {
+            bits.set(Math.min(anchor, index), Math.max(anchor, index) + 1);
+        } else if (filteredGlyphs != null) {
+            // a search result of the pack, its source indices are the pack indices
+            int from = filteredGlyphs.getViewIndex(anchor);
+            int to = filteredGlyphs.getViewIndex(index);
+            if (from < 0 || to < 0) {
+                // the anchor is not shown anymore
+                bits.set(index);
+            } else {
+                for (int i = Math.min(from, to); i <= Math.max(from, to); i++) {
+                    bits.set(filteredGlyphs.getSourceIndex(i));
+                }
+            }
+        } else {
+            int from = -1;
+            int to = -1;
+            for (int i = 0; i < shownGlyphs.size(); i++) {
+                int shownIndex = indexOf(shownGlyphs.get(i));
+                if (shownIndex == anchor) {
+                    from = i;
+                }
+                if (shownIndex == index) {
+                    to = i;
+                }
+            }
+            if (from < 0 || to < 0) {
+                // the anchor is not shown anymore
+                bits.set(index);
+            } else {
+                for (int i = Math.min(from, to); i <= Math.max(from, to); i++) {
+                    int shownIndex = indexOf(shownGlyphs.get(i));
+                    if (shownIndex >= 0) {
+                        bits.set(shownIndex);
+                    }
+                }
+            }
+        }
+        changed();
+    }
+
+    /**
+     * Replaces the selection with the given glyphs.
+     *
+     * @param glyphs the glyphs to select, e.g. the current search result
+     */
+    public void selectAll(List<? extends GlyphIcon> glyphs) {
+        if (glyphsPack == null) {
+            return;
+        }
+        BitSet bits = bits(glyphsPack);
+        bits.clear();
+        anchor = -1;
+        FilteredList<? extends GlyphIcon> filteredGlyphs = filteredPackGlyphs(glyphs);
+        if (glyphs == glyphsPack.getGlyphNodes() || filteredGlyphs != null && filteredGlyphs.getPredicate() == null) {
+            bits.set(0, glyphsPack.getGlyphNodes().size());
+        } else if (filteredGlyphs != null) {
+            for (int i = 0; i < filteredGlyphs.size(); i++) {
+                bits.set(filteredGlyphs.getSourceIndex(i));
+            }
+        } else {
+            glyphs.stream().mapToInt(this::indexOf).filter(index -> index >= 0).forEach(bits::set);
+        }
+        changed();
+    }
+
+    public void clear() {
+        if (glyphsPack != null) {
+            bits(glyphsPack).clear();
+            anchor = -1;
+            changed();
+        }
+    }
+
+    /**
+     * @return the glyphs as a filtered view of the current pack's own list,
+     * whose source indices are the pack indices, or null
+     */
+    private FilteredList<? extends GlyphIcon> filteredPackGlyphs(List<? extends GlyphIcon> glyphs) {
+        if (glyphs instanceof FilteredList && ((FilteredList<?>) glyphs).getSource() == glyphsPack.getGlyphNodes()) {
+            return (FilteredList<? extends GlyphIcon>) glyphs;
+        }
+        return null;
+    }
+
+    /**
+     * @return the index of the glyph in the current pack or -1
+     */
+    public int indexOf(GlyphIcon glyph) {
+        if (glyphsPack == null || glyph == null) {
+            return -1;
+        }
+        Map<GlyphIcon, Integer> packIndices = indices.computeIfAbsent(glyphsPack, this::createIndices);
+        Integer index = packIndices.get(glyph);
+        return index == null ? -1 : index;
+    }
+
+    private Map<GlyphIcon, Integer> indexOfNodes(GlyphsPack pack) {
+        return indices.computeIfAbsent(pack, this::createIndices);
+    }
+
+    private Map<GlyphIcon, Integer> createIndices(GlyphsPack pack) {
+        List<GlyphIcon> glyphs = pack.getGlyphNodes();
+        Map<GlyphIcon, Integer> packIndices = new IdentityHashMap<>(glyphs.size() * 2);
+        for (int i = 0; i < glyphs.size(); i++) {
+            packIndices.put(glyphs.get(i), i);
+        }
+        return packIndices;
+    }
+
+    private BitSet bits(GlyphsPack pack) {
+        return selections.computeIfAbsent(pack, newPack -> {
+            // the indices are only valid for the nodes they were taken from,
+            // selected nodes still in the pack stay selected at their new index
+            newPack.getGlyphNodes().addListener((Observable observable) -> {
+                Map<GlyphIcon, Integer> oldIndices = indices.remove(newPack);
+                BitSet oldBits = selections.get(newPack);
+                BitSet newBits = new BitSet(newPack.getNumberOfIcons());
+                if (oldIndices != null && !oldBits.isEmpty()) {
+                    for (Map.Entry<GlyphIcon, Integer> entry : indexOfNodes(newPack).entrySet()) {
+                        Integer oldIndex = oldIndices.get(entry.getKey());
+                        if (oldIndex != null && oldBits.get(oldIndex)) {
+                            newBits.set(entry.getValue());
+                        }
+                    }
+                }
+                oldBits.clear();
+                oldBits.or(newBits);
+                if (newPack == glyphsPack) {
+                    anchor = -1;
+                }
+                changed();
+            });
+            return new BitSet(newPack.getNumberOfIcons());
+        });
+    }
+
+    private void changed() {
+        revision.set(revision.get() + 1);
+    }
+
+}
@@ -0,0 +1,384 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.jensd.fx.glyphs.GlyphIcons;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+
+/**
+ * Headless HTTP service on the loopback interface, for tools that want to
+ * query glyphs without the JavaFX UI:
+ * <pre>
+ * GET /packs                                  all bundled packs
+ * GET /search?q=arrow[&amp;pack=FONT_AWESOME][&amp;limit=200]
+ * GET /glyphs/FontAwesomeIcon/SAVE            glyph metadata
+ * GET /glyphs/FontAwesomeIcon/SAVE.png[?size=64&amp;color=336699]
+ * </pre>
+ * Rendered images are kept in a {@link LruByteCache}, all responses carry an
+ * ETag and are answered with 304 if the client already has them.
+ *
+ * @author agent
+ */
+public class GlyphsServer {
+
+    public final static int DEFAULT_PORT = 9876;
+    public final static long DEFAULT_IMAGE_CACHE_BYTES = 32L * 1024 * 1024;
+    public final static int DEFAULT_IMAGE_SIZE = 64;
+    public final static int MIN_IMAGE_SIZE = 8;
+    public final static int MAX_IMAGE_SIZE = 1024;
+    public final static int DEFAULT_SEARCH_LIMIT = 200;
+    private final static int BACKLOG = 1024;
+    private final static String GLYPHS_PATH = "/glyphs/";
+    private final static String PNG_SUFFIX = ".png";
+    private final static String JSON_TYPE = "application/json; charset=utf-8";
+
+    private static class Glyph {
+
+        private final GlyphsPack.Type type;
+        private final GlyphIcons icon;
+        private final String searchName;
+
+        Glyph(GlyphsPack.Type type, GlyphIcons icon) {
+            this.type = type;
+            this.icon = icon;
+            this.searchName = icon.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final int port;
+    private final Map<String, Glyph> glyphs = new LinkedHashMap<>();
+    private final Map<GlyphsPack.Type, FontInfo> fontInfos = new EnumMap<>(GlyphsPack.Type.class);
+    private final GlyphRasterizer rasterizer = new GlyphRasterizer();
+    private final LruByteCache<String> imageCache;
+    private HttpServer httpServer;
+    private ExecutorService executor;
+
+    public GlyphsServer(int port) {
+        this(port, DEFAULT_IMAGE_CACHE_BYTES);
+    }
+
+    public GlyphsServer(int port, long imageCacheBytes) {
+        this.port = port;
+        this.imageCache = new LruByteCache<>(imageCacheBytes);
+        for (GlyphsPack.Type type : GlyphsPack.Type.values()) {
+            fontInfos.put(type, new FontInfo(type.getFontInfoPath()));
+            for (GlyphIcons icon : type.getGlyphs()) {
+                glyphs.put(type.getQualifiedName(icon.name()), new Glyph(type, icon));
+            }
+        }
+    }
+
+    public synchronized void start() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        executor = createExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+        Logger.getLogger(GlyphsServer.class.getName()).log(Level.INFO, "Serving {0,number,#} glyphs on http://{1}:{2,number,#}/",
+                new Object[]{glyphs.size(), InetAddress.getLoopbackAddress().getHostAddress(), getPort()});
+    }
+
+    public synchronized void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            executor.shutdownNow();
+            httpServer = null;
+        }
+    }
+
+    /**
+     * @return the bound port, which differs from the requested one if that was 0
+     */
+    public synchronized int getPort() {
+        return httpServer != null ? httpServer.getAddress().getPort() : port;
+    }
+
+    public LruByteCache<String> getImageCache() {
+        return imageCache;
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            // virtual threads when running on Java 21+, while the sources stay Java 8 compatible
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(16, Runtime.getRuntime().availableProcessors() * 4), runnable -> {
+                Thread thread = new Thread(runnable, "glyphs-server-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if ("/packs".equals(path)) {
+                sendJson(exchange, packsJson());
+            } else if ("/search".equals(path)) {
+                search(exchange, query);
+            } else if (path.startsWith(GLYPHS_PATH)) {
+                glyph(exchange, path.substring(GLYPHS_PATH.length()), query);
+            } else {
+                sendError(exchange, 404, "Unknown resource " + path);
+            }
+        } catch (IllegalArgumentException ex) {
+            sendError(exchange, 400, ex.getMessage());
+        } catch (RuntimeException ex) {
+            Logger.getLogger(GlyphsServer.class.getName()).log(Level.SEVERE, null, ex);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void search(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String keyword = query.getOrDefault("q", "").toLowerCase(Locale.ROOT);
+        GlyphsPack.Type pack = query.containsKey("pack") ? GlyphsPack.Type.valueOf(query.get("pack")) : null;
+        int limit = parseInt(query.get("limit"), DEFAULT_SEARCH_LIMIT, 1, glyphs.size());
+        StringBuilder json = new StringBuilder();
+        json.append("{\"query\":").append(StringLiterals.quote(keyword)).append(",\"glyphs\":[");
+        int count = 0;
+        for (Glyph glyph : glyphs.values()) {
+            if ((pack == null || glyph.type == pack) && glyph.searchName.contains(keyword)) {
+                if (count > 0) {
+                    json.append(',');
+                }
+                appendGlyphJson(json, glyph);
+                if (++count == limit) {
+                    break;
+                }
+            }
+        }
+        json.append("],\"count\":").append(count).append('}');
+        sendJson(exchange, json.toString());
+    }
+
+    private void glyph(HttpExchange exchange, String name, Map<String, String> query) throws IOException {
+        boolean image = name.endsWith(PNG_SUFFIX);
+        if (image) {
+            name = name.substring(0, name.length() - PNG_SUFFIX.length());
+        }
+        Glyph glyph = glyphs.get(name.replace('/', '.'));
+        if (glyph == null) {
+            sendError(exchange, 404, "Unknown glyph " + name);
+        } else if (image) {
+            int size = parseInt(query.get("size"), DEFAULT_IMAGE_SIZE, MIN_IMAGE_SIZE, MAX_IMAGE_SIZE);
+            Color color = parseColor(query.get("color"));
+            String key = glyph.type.getQualifiedName(glyph.icon.name()) + '@' + fontInfos.get(glyph.type).getVersion()
+                    + '/' + size + '/' + Integer.toHexString(color.getRGB());
+            String etag = etag(key.getBytes(StandardCharsets.UTF_8));
+            if (notModified(exchange, etag)) {
+                return;
+            }
+            byte[] png = imageCache.get(key);
+            if (png == null) {
+                png = renderPng(glyph, size, color);
+                imageCache.put(key, png);
+            }
+            send(exchange, "image/png", png, etag);
+        } else {
+            StringBuilder json = new StringBuilder();
+            appendGlyphJson(json, glyph);
+            sendJson(exchange, json.toString());
+        }
+    }
+
+    private byte[] renderPng(Glyph glyph, int size, Color color) throws IOException {
+        BufferedImage image = rasterizer.render(glyph.type, glyph.icon.unicode(), size, color);
+        if (image == null) {
+            image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private String packsJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (GlyphsPack.Type type : GlyphsPack.Type.values()) {
+            FontInfo fontInfo = fontInfos.get(type);
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"pack\":").append(StringLiterals.quote(type.name()))
+                    .append(",\"iconClass\":").append(StringLiterals.quote(type.getIconClassName()))
+                    .append(",\"name\":").append(StringLiterals.quote(fontInfo.getName()))
+                    .append(",\"family\":").append(StringLiterals.quote(fontInfo.getFamiliy()))
+                    .append(",\"version\":").append(StringLiterals.quote(fontInfo.getVersion()))
+                    .append(",\"license\":").append(StringLiterals.quote(fontInfo.getLicense()))
+                    .append(",\"url\":").append(StringLiterals.quote(fontInfo.getURL()))
+                    .append(",\"numberOfIcons\":").append(type.getGlyphs().length)
+                    .append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private void appendGlyphJson(StringBuilder json, Glyph glyph) {
+        String glyphName = glyph.icon.name();
+        String unicode = glyph.icon.unicode();
+        json.append("{\"glyphName\":").append(StringLiterals.quote(glyph.type.getQualifiedName(glyphName)))
+                .append(",\"pack\":").append(StringLiterals.quote(glyph.type.name()))
+                .append(",\"glyphUnicode\":").append(StringLiterals.quote(unicode))
+                .append(",\"codePoint\":").append(StringLiterals.quote(Integer.toHexString(unicode.codePointAt(0))))
+                .append(",\"glyphCode\":").append(StringLiterals.quote(glyph.type.getGlyphCode(glyphName)))
+                .append(",\"glyphFactoryCode\":").append(StringLiterals.quote(glyph.type.getGlyphFactoryCode(glyphName)))
+                .append(",\"image\":").append(StringLiterals.quote(GLYPHS_PATH + glyph.type.getIconClassName() + '/' + glyphName + PNG_SUFFIX))
+                .append('}');
+    }
+
+    private void sendJson(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        String etag = etag(body);
+        if (!notModified(exchange, etag)) {
+            send(exchange, JSON_TYPE, body, etag);
+        }
+    }
+
+    private boolean notModified(HttpExchange exchange, String etag) throws IOException {
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.sendResponseHeaders(304, -1);
+            return true;
+        }
+        return false;
+    }
+
+    private void send(HttpExchange exchange, String contentType, byte[] body, String etag) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", contentType);
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", "max-age=3600");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            // the headers are already sent, the exchange is closed with what was written
+            Logger.getLogger(GlyphsServer.class.getName()).log(Level.WARNING, "Response already started, dropping error {0} {1}",
+                    new Object[]{status, message});
+            return;
+        }
+        byte[] body = ("{\"error\":" + StringLiterals.quote(message) + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String etag(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(content.length) + "\"";
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        try {
+            for (String parameter : rawQuery.split("&")) {
+                int separator = parameter.indexOf('=');
+                if (separator > 0) {
+                    query.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+                            URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+                } else if (!parameter.isEmpty()) {
+                    query.put(URLDecoder.decode(parameter, "UTF-8"), "");
+                }
+            }
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return query;
+    }
+
+    private static int parseInt(String value, int defaultValue, int min, int max) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(min, Math.min(max, Integer.parseInt(value)));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    private static Color parseColor(String value) {
+        if (value == null || value.isEmpty()) {
+            return Color.BLACK;
+        }
+        if (!value.matches("[0-9a-fA-F]{6}|[0-9a-fA-F]{8}")) {
+            throw new IllegalArgumentException("Color must be RRGGBB or AARRGGBB: " + value);
+        }
+        int argb = (int) Long.parseLong(value, 16);
+        return new Color(value.length() == 6 ? 0xFF000000 | argb : argb, true);
+    }
+
+    /**
+     * Runs the server until the JVM is shut down.
+     *
+     * @param args optional port
+     * @throws IOException if the server can not be started
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        GlyphsServer server = new GlyphsServer(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+    }
+
+}
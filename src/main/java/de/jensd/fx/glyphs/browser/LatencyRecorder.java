@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.beans.ConstructorProperties;
+import java.util.Arrays;
+
+/**
+ * Keeps the last {@link #WINDOW} durations of an operation for percentile
+ * reporting, plus the total count.
+ *
+ * @author agent
+ */
+public class LatencyRecorder {
+
+    public final static int WINDOW = 1024;
+
+    /**
+     * Immutable view of the recorded latencies, exposed as composite data over JMX.
+     */
+    public static class Snapshot {
+
+        private final long count;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        @ConstructorProperties({"count", "p50Millis", "p90Millis", "p99Millis", "maxMillis"})
+        public Snapshot(long count, double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+            this.count = count;
+            this.p50Millis = p50Millis;
+            this.p90Millis = p90Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+
+    private final long[] samples = new long[WINDOW];
+    private long count;
+
+    public synchronized void record(long nanos) {
+        samples[(int) (count % WINDOW)] = nanos;
+        count++;
+    }
+
+    public synchronized void reset() {
+        count = 0;
+    }
+
+    public Snapshot snapshot() {
+        long[] sorted;
+        long total;
+        synchronized (this) {
+            total = count;
+            sorted = Arrays.copyOf(samples, (int) Math.min(count, WINDOW));
+        }
+        if (sorted.length == 0) {
+            return new Snapshot(0, 0, 0, 0, 0);
+        }
+        Arrays.sort(sorted);
+        return new Snapshot(total, percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1e6;
+    }
+
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of byte arrays, bounded by the total number of
+ * cached bytes rather than the number of entries.
+ *
+ * @author agent
+ * @param <K> the key type
+ */
+public class LruByteCache<K> {
+
+    private final LinkedHashMap<K, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final long maxBytes;
+    private long bytes;
+    private long hits;
+    private long misses;
+
+    public LruByteCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param key the key
+     * @return the cached value or null
+     */
+    public synchronized byte[] get(K key) {
+        byte[] value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, byte[] value) {
+        if (value.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(key, value);
+        if (previous != null) {
+            bytes -= previous.length;
+        }
+        bytes += value.length;
+        Iterator<Map.Entry<K, byte[]>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+}
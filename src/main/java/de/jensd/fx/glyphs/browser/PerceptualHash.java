@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * DCT based 64 bit perceptual hash: the 8x8 lowest frequencies of a 32x32
+ * image, each compared against their median. Visually similar images end up
+ * with a small hamming distance between their hashes.
+ *
+ * @author agent
+ */
+public final class PerceptualHash {
+
+    public static final int IMAGE_SIZE = 32;
+    private static final int HASH_SIZE = 8;
+    private static final double[][] DCT_COEFFICIENTS = new double[HASH_SIZE][IMAGE_SIZE];
+
+    static {
+        for (int u = 0; u < HASH_SIZE; u++) {
+            double c = u == 0 ? Math.sqrt(1.0 / IMAGE_SIZE) : Math.sqrt(2.0 / IMAGE_SIZE);
+            for (int x = 0; x < IMAGE_SIZE; x++) {
+                DCT_COEFFICIENTS[u][x] = c * Math.cos((2 * x + 1) * u * Math.PI / (2.0 * IMAGE_SIZE));
+            }
+        }
+    }
+
+    private PerceptualHash() {
+    }
+
+    /**
+     * @param image an image of {@link #IMAGE_SIZE} x {@link #IMAGE_SIZE} pixels, the alpha channel is hashed
+     * @return the hash
+     */
+    public static long of(BufferedImage image) {
+        if (image.getWidth() != IMAGE_SIZE || image.getHeight() != IMAGE_SIZE) {
+            throw new IllegalArgumentException("Image must be " + IMAGE_SIZE + "x" + IMAGE_SIZE + " pixels");
+        }
+        double[][] pixels = new double[IMAGE_SIZE][IMAGE_SIZE];
+        for (int y = 0; y < IMAGE_SIZE; y++) {
+            for (int x = 0; x < IMAGE_SIZE; x++) {
+                pixels[y][x] = image.getRGB(x, y) >>> 24;
+            }
+        }
+        // separable 2D DCT, restricted to the low frequencies actually used
+        double[][] rows = new double[IMAGE_SIZE][HASH_SIZE];
+        for (int y = 0; y < IMAGE_SIZE; y++) {
+            for (int u = 0; u < HASH_SIZE; u++) {
+                double sum = 0;
+                for (int x = 0; x < IMAGE_SIZE; x++) {
+                    sum += DCT_COEFFICIENTS[u][x] * pixels[y][x];
+                }
+                rows[y][u] = sum;
+            }
+        }
+        double[] coefficients = new double[HASH_SIZE * HASH_SIZE];
+        for (int v = 0; v < HASH_SIZE; v++) {
+            for (int u = 0; u < HASH_SIZE; u++) {
+                double sum = 0;
+                for (int y = 0; y < IMAGE_SIZE; y++) {
+                    sum += DCT_COEFFICIENTS[v][y] * rows[y][u];
+                }
+                coefficients[v * HASH_SIZE + u] = sum;
+            }
+        }
+        // the DC term only reflects overall ink coverage, leave it out of the median
+        double[] sorted = Arrays.copyOfRange(coefficients, 1, coefficients.length);
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2];
+        long hash = 0L;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] > median) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long hash1, long hash2) {
+        return Long.bitCount(hash1 ^ hash2);
+    }
+
+}
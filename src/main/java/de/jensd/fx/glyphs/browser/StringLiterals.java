@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+/**
+ * Double quoted string literals for the generated JSON and Java code.
+ * <p>
+ * Control characters use the short escapes both languages share, like
+ * {@code \n}. javac translates Unicode escapes before it reads a literal,
+ * so the Unicode escape of a line feed would break the generated code.
+ *
+ * @author agent
+ */
+final class StringLiterals {
+
+    private StringLiterals() {
+    }
+
+    /**
+     * @param value any text, e.g. a glyph unicode
+     * @return the text as a double quoted string literal, valid in Java and
+     * JSON alike, everything outside of printable ASCII escaped
+     */
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c == '\b') {
+                quoted.append("\\b");
+            } else if (c == '\t') {
+                quoted.append("\\t");
+            } else if (c == '\n') {
+                quoted.append("\\n");
+            } else if (c == '\f') {
+                quoted.append("\\f");
+            } else if (c == '\r') {
+                quoted.append("\\r");
+            } else if (c < 0x20 || c > 0x7e) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+}
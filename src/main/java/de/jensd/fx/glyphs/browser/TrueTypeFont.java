@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The table directory and the Unicode {@code cmap} of a TrueType or OpenType
+ * font, shared by {@link CustomFont} and {@link FontSubsetter}.
+ * <p>
+ * The tables are big endian slices of the font data, read them with absolute
+ * gets or on a {@link ByteBuffer#duplicate()}.
+ *
+ * @author agent
+ */
+public class TrueTypeFont {
+
+    public final static int TRUETYPE_VERSION = 0x00010000;
+    private final static int TRUE_TAG = 0x74727565;
+    private final static int OTTO_TAG = 0x4F54544F;
+
+    private final boolean glyfOutlines;
+    private final Map<String, ByteBuffer> tables;
+    private final int numGlyphs;
+
+    /**
+     * @param font the complete font file
+     * @throws IOException if the font is no TrueType or OpenType font, has no
+     * {@code cmap} or {@code maxp} table or a table lies outside of the file
+     */
+    public TrueTypeFont(ByteBuffer font) throws IOException {
+        ByteBuffer data = font.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int sfntVersion = data.getInt(0);
+        if (sfntVersion != TRUETYPE_VERSION && sfntVersion != TRUE_TAG && sfntVersion != OTTO_TAG) {
+            throw new IOException("Not a TrueType or OpenType font");
+        }
+        this.glyfOutlines = sfntVersion != OTTO_TAG;
+        Map<String, ByteBuffer> directory = new HashMap<>();
+        int numTables = u16(data, 4);
+        for (int i = 0; i < numTables; i++) {
+            int record = 12 + i * 16;
+            byte[] tag = new byte[4];
+            for (int j = 0; j < 4; j++) {
+                tag[j] = data.get(record + j);
+            }
+            int offset = data.getInt(record + 8);
+            int length = data.getInt(record + 12);
+            if (offset < 0 || length < 0 || offset + length < 0 || offset + length > data.limit()) {
+                throw new IOException("Truncated font");
+            }
+            directory.put(new String(tag, StandardCharsets.US_ASCII), slice(data, offset, offset + length).order(ByteOrder.BIG_ENDIAN));
+        }
+        this.tables = Collections.unmodifiableMap(directory);
+        if (!tables.containsKey("cmap") || !tables.containsKey("maxp")) {
+            throw new IOException("Font has no 'cmap' or 'maxp' table");
+        }
+        this.numGlyphs = u16(tables.get("maxp"), 4);
+    }
+
+    /**
+     * @return true for {@code glyf} outlines, false for CFF based OpenType fonts
+     */
+    public boolean hasGlyfOutlines() {
+        return glyfOutlines;
+    }
+
+    /**
+     * @return the tables by tag
+     */
+    public Map<String, ByteBuffer> getTables() {
+        return tables;
+    }
+
+    public ByteBuffer getTable(String tag) {
+        return tables.get(tag);
+    }
+
+    public boolean hasTable(String tag) {
+        return tables.containsKey(tag);
+    }
+
+    public int getNumGlyphs() {
+        return numGlyphs;
+    }
+
+    /**
+     * Reads the best Unicode subtable, format 12 before format 4.
+     * <p>
+     * A format 12 group maps consecutive code points to consecutive glyph ids,
+     * so it is cut off at the last glyph of the font; a corrupt
+     * {@code endCharCode} can not expand to millions of entries.
+     *
+     * @return code point to glyph id, ordered by code point
+     * @throws IOException if there is no Unicode subtable or it is corrupt
+     */
+    public Map<Integer, Integer> getCharacterMap() throws IOException {
+        ByteBuffer cmap = tables.get("cmap");
+        int numSubtables = u16(cmap, 2);
+        int format4 = -1;
+        for (int i = 0; i < numSubtables; i++) {
+            int platformId = u16(cmap, 4 + i * 8);
+            int encodingId = u16(cmap, 6 + i * 8);
+            int offset = cmap.getInt(8 + i * 8);
+            if (offset < 0 || offset + 2 > cmap.limit()) {
+                throw new IOException("Corrupt character map");
+            }
+            int format = u16(cmap, offset);
+            if (format == 12 && (platformId == 3 && encodingId == 10 || platformId == 0)) {
+                return characterMapFormat12(cmap, offset);
+            }
+            if (format == 4 && (platformId == 3 && (encodingId == 1 || encodingId == 0) || platformId == 0)) {
+                format4 = offset;
+            }
+        }
+        if (format4 < 0) {
+            throw new IOException("Font has no Unicode character map");
+        }
+        return characterMapFormat4(cmap, format4);
+    }
+
+    private static Map<Integer, Integer> characterMapFormat4(ByteBuffer cmap, int offset) {
+        Map<Integer, Integer> characterMap = new TreeMap<>();
+        int segments = u16(cmap, offset + 6) / 2;
+        int endCodes = offset + 14;
+        int startCodes = endCodes + segments * 2 + 2;
+        int idDeltas = startCodes + segments * 2;
+        int idRangeOffsets = idDeltas + segments * 2;
+        for (int i = 0; i < segments; i++) {
+            int startCode = u16(cmap, startCodes + i * 2);
+            int endCode = u16(cmap, endCodes + i * 2);
+            int idDelta = cmap.getShort(idDeltas + i * 2);
+            int idRangeOffset = u16(cmap, idRangeOffsets + i * 2);
+            for (int codePoint = startCode; codePoint <= endCode && codePoint != 0xFFFF; codePoint++) {
+                int glyphId;
+                if (idRangeOffset == 0) {
+                    glyphId = (codePoint + idDelta) & 0xFFFF;
+                } else {
+                    glyphId = u16(cmap, idRangeOffsets + i * 2 + idRangeOffset + (codePoint - startCode) * 2);
+                    glyphId = glyphId == 0 ? 0 : (glyphId + idDelta) & 0xFFFF;
+                }
+                if (glyphId != 0) {
+                    characterMap.put(codePoint, glyphId);
+                }
+            }
+        }
+        return characterMap;
+    }
+
+    private Map<Integer, Integer> characterMapFormat12(ByteBuffer cmap, int offset) throws IOException {
+        Map<Integer, Integer> characterMap = new TreeMap<>();
+        long groups = cmap.getInt(offset + 12) & 0xFFFFFFFFL;
+        if (offset + 16 + groups * 12 > cmap.limit()) {
+            throw new IOException("Corrupt format 12 character map: " + groups + " groups");
+        }
+        for (int i = 0; i < groups; i++) {
+            int group = offset + 16 + i * 12;
+            int startCharCode = cmap.getInt(group);
+            int endCharCode = cmap.getInt(group + 4);
+            int startGlyphId = cmap.getInt(group + 8);
+            if (startCharCode < 0 || endCharCode < startCharCode || startGlyphId < 0) {
+                throw new IOException(String.format("Corrupt format 12 character map group %d: %X-%X", i, startCharCode, endCharCode));
+            }
+            if (startGlyphId >= numGlyphs) {
+                continue;
+            }
+            int lastCodePoint = Math.min(Math.min(endCharCode, Character.MAX_CODE_POINT), startCharCode + numGlyphs - 1 - startGlyphId);
+            for (int codePoint = startCharCode; codePoint <= lastCodePoint; codePoint++) {
+                characterMap.put(codePoint, startGlyphId + codePoint - startCharCode);
+            }
+        }
+        return characterMap;
+    }
+
+    static ByteBuffer slice(ByteBuffer table, int start, int end) {
+        ByteBuffer slice = table.duplicate();
+        slice.position(start).limit(end);
+        return slice.slice();
+    }
+
+    static int u8(ByteBuffer buffer, int index) {
+        return buffer.get(index) & 0xFF;
+    }
+
+    static int u16(ByteBuffer buffer, int index) {
+        return buffer.getShort(index) & 0xFFFF;
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcons;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Round trip of {@link FontSubsetter}: the subset of a bundled font is loaded
+ * with AWT, which validates the tables, and only maps the kept code points.
+ *
+ * @author agent
+ */
+public class FontSubsetterTest {
+
+    @Test
+    public void subsetOfFontAwesomeMapsOnlyTheSelectedGlyphs() throws Exception {
+        assertRoundTrip(GlyphsPack.Type.FONT_AWESOME);
+    }
+
+    @Test
+    public void subsetOfMaterialDesignIconsMapsOnlyTheSelectedGlyphs() throws Exception {
+        assertRoundTrip(GlyphsPack.Type.MATERIAL_DESIGN_ICONS);
+    }
+
+    @Test
+    public void subsetOfEveryTrueTypePackLoads() throws Exception {
+        for (GlyphsPack.Type type : GlyphsPack.Type.values()) {
+            if (!type.getFontPath().endsWith(".ttf")) {
+                // OpenType/CFF, not supported by the subsetter
+                continue;
+            }
+            ByteBuffer font = FontSubsetter.readFont(type.getFontPath());
+            List<Integer> codePoints = FontSubsetter.codePoints(Arrays.asList(type.getGlyphs()).subList(0, 1));
+            Font subset = load(new FontSubsetter(font).subset(codePoints));
+            assertTrue(type + " U+" + Integer.toHexString(codePoints.get(0)), subset.canDisplay(codePoints.get(0)));
+        }
+    }
+
+    @Test
+    public void writtenSubsetIsReadBack() throws Exception {
+        ByteBuffer font = FontSubsetter.readFont(GlyphsPack.Type.FONT_AWESOME.getFontPath());
+        ByteBuffer subset = new FontSubsetter(font).subset(Arrays.asList(0xf0c7, 0xf007));
+        Path file = Files.createTempFile("subset", ".ttf");
+        try {
+            FontSubsetter.writeFont(subset.duplicate(), file);
+            assertEquals(subset.remaining(), Files.size(file));
+            Font written = Font.createFont(Font.TRUETYPE_FONT, file.toFile());
+            assertTrue(written.canDisplay(0xf0c7));
+            assertTrue(written.canDisplay(0xf007));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertRoundTrip(GlyphsPack.Type type) throws Exception {
+        ByteBuffer font = FontSubsetter.readFont(type.getFontPath());
+        GlyphIcons[] glyphs = type.getGlyphs();
+        List<GlyphIcons> selected = new ArrayList<>();
+        List<GlyphIcons> others = new ArrayList<>();
+        for (int i = 0; i < glyphs.length; i++) {
+            (i % 97 == 3 ? selected : others).add(glyphs[i]);
+        }
+        List<Integer> selectedCodePoints = FontSubsetter.codePoints(selected);
+        List<Integer> otherCodePoints = FontSubsetter.codePoints(others);
+        otherCodePoints.removeAll(selectedCodePoints);
+
+        Font original = load(font.duplicate());
+        Font subset = load(new FontSubsetter(font).subset(selectedCodePoints));
+        assertTrue(subset.getNumGlyphs() < original.getNumGlyphs());
+        for (int codePoint : selectedCodePoints) {
+            assertTrue(type + " kept U+" + Integer.toHexString(codePoint), subset.canDisplay(codePoint));
+        }
+        for (int codePoint : otherCodePoints) {
+            if (original.canDisplay(codePoint)) {
+                assertFalse(type + " dropped U+" + Integer.toHexString(codePoint), subset.canDisplay(codePoint));
+            }
+        }
+    }
+
+    private static Font load(ByteBuffer font) throws IOException, FontFormatException {
+        byte[] bytes = new byte[font.remaining()];
+        font.duplicate().get(bytes);
+        return Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(bytes));
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.tools.JavaCompiler;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The generated manifests stay valid for names and characters that are not
+ * valid in Java identifiers or string literals.
+ *
+ * @author agent
+ */
+public class GlyphsManifestWriterTest {
+
+    private final static String CONTROL_CHARACTERS = "\n\r\t\b\f\u0001\"\\";
+
+    @Test
+    public void javaManifestWithControlCharactersCompiles() throws Exception {
+        String source = write(GlyphsManifestWriter.Format.JAVA);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter diagnostics = new StringWriter();
+        SimpleJavaFileObject file = new SimpleJavaFileObject(URI.create("string:///Glyphs.java"), SimpleJavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        Path classes = Files.createTempDirectory("manifest");
+        boolean compiled = compiler.getTask(diagnostics, null, null, Arrays.asList("-proc:none", "-d", classes.toString()), null,
+                Collections.singletonList(file)).call();
+        assertTrue(diagnostics + "\n" + source, compiled);
+    }
+
+    @Test
+    public void jsonManifestUsesShortEscapes() throws Exception {
+        String json = write(GlyphsManifestWriter.Format.JSON);
+        assertTrue(json, json.contains("\"unicode\":\"\\n\\r\\t\\b\\f\\u0001\\\"\\\\\""));
+    }
+
+    @Test
+    public void quoteEscapesForJavaAndJson() {
+        assertEquals("\"a\\nb\\\"c\\u00e4\"", StringLiterals.quote("a\nb\"c\u00e4"));
+    }
+
+    private static String write(GlyphsManifestWriter.Format format) throws Exception {
+        StringWriter out = new StringWriter();
+        try (GlyphsManifestWriter writer = new GlyphsManifestWriter(format, out)) {
+            writer.beginPack("PACK", "class", "My" + CONTROL_CHARACTERS + "Icons");
+            writer.writeGlyph("new", CONTROL_CHARACTERS);
+            writer.writeGlyph("line\nbreak", "\uf000");
+            writer.endPack();
+        }
+        return out.toString();
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import de.jensd.fx.glyphs.GlyphIcon;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Searches and selections over packs whose nodes are replaced, as on a
+ * custom font reload, using {@link CustomGlyphIcon} nodes that need no font.
+ *
+ * @author agent
+ */
+public class GlyphsQueryCacheTest {
+
+    @Test
+    public void searchSurvivesShrinkingPack() {
+        assertSearchAfterRebuild(20, 5);
+    }
+
+    @Test
+    public void searchSurvivesGrowingPack() {
+        assertSearchAfterRebuild(5, 20);
+    }
+
+    @Test
+    public void searchSurvivesPackOfSameSize() {
+        assertSearchAfterRebuild(10, 10);
+    }
+
+    @Test
+    public void selectionOfSearchResultUsesPackIndices() {
+        GlyphsPack glyphsPack = new GlyphsPack(new FontInfo(new Properties()), FXCollections.observableArrayList(glyphs(30)));
+        GlyphsSelection selection = new GlyphsSelection();
+        selection.setGlyphsPack(glyphsPack);
+        glyphsPack.getQueryCache().filter("1", null);
+        List<GlyphIcon> shown = glyphsPack.getQueryCache().getFilteredGlyphNodes();
+        assertEquals(Arrays.asList("g1", "g10", "g11", "g12", "g13", "g14", "g15", "g16", "g17", "g18", "g19", "g21"), names(shown));
+
+        selection.select(shown.get(1));
+        selection.selectRange(shown.get(3), glyphsPack.getQueryCache().getFilteredGlyphNodes());
+        assertEquals(bits(10, 11, 12), selection.getSelectedIndices());
+
+        selection.selectAll(glyphsPack.getQueryCache().getFilteredGlyphNodes());
+        assertEquals(bits(1, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 21), selection.getSelectedIndices());
+
+        glyphsPack.getQueryCache().filter("2", null);
+        selection.selectAll(glyphsPack.getQueryCache().getFilteredGlyphNodes());
+        assertEquals(bits(2, 12, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29), selection.getSelectedIndices());
+
+        selection.clear();
+        assertEquals(bits(), selection.getSelectedIndices());
+
+        glyphsPack.getQueryCache().filter("", null);
+        selection.select(glyphsPack.getGlyphNodes().get(2));
+        selection.selectRange(glyphsPack.getGlyphNodes().get(5), glyphsPack.getQueryCache().getFilteredGlyphNodes());
+        assertEquals(bits(2, 3, 4, 5), selection.getSelectedIndices());
+    }
+
+    private static void assertSearchAfterRebuild(int before, int after) {
+        ObservableList<GlyphIcon> glyphNodes = FXCollections.observableArrayList(glyphs(before));
+        GlyphsQueryCache queryCache = new GlyphsQueryCache(glyphNodes);
+        queryCache.filter("1", glyph -> !glyph.getGlyphName().endsWith("0"));
+        // like the browser, a listener added later searches again once the nodes changed
+        List<List<String>> seen = new ArrayList<>();
+        glyphNodes.addListener((ListChangeListener.Change<? extends GlyphIcon> change) -> {
+            seen.add(names(queryCache.getFilteredGlyphNodes()));
+            queryCache.filter("1", null);
+        });
+
+        List<GlyphIcon> rebuilt = glyphs(after);
+        glyphNodes.setAll(rebuilt);
+
+        List<String> expected = names(rebuilt).stream()
+                .filter(name -> name.contains("1") && !name.endsWith("0"))
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(expected), seen);
+        assertEquals(names(rebuilt).stream().filter(name -> name.contains("1")).collect(Collectors.toList()),
+                names(queryCache.getFilteredGlyphNodes()));
+        assertTrue(queryCache.isShown(queryCache.getFilteredGlyphNodes().get(0)));
+        assertFalse(queryCache.isShown(glyphs(1).get(0)));
+    }
+
+    private static List<GlyphIcon> glyphs(int count) {
+        List<GlyphIcon> glyphs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            glyphs.add(new CustomGlyphIcon("g" + i, "x", "Test"));
+        }
+        return glyphs;
+    }
+
+    private static List<String> names(List<? extends GlyphIcon> glyphs) {
+        return glyphs.stream().map(GlyphIcon::getGlyphName).collect(Collectors.toList());
+    }
+
+    private static BitSet bits(int... indices) {
+        BitSet bits = new BitSet();
+        Arrays.stream(indices).forEach(bits::set);
+        return bits;
+    }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ *
+ */
+package de.jensd.fx.glyphs.browser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Reads the {@code cmap} of the bundled fonts and of hand made fonts with
+ * corrupt format 12 groups.
+ *
+ * @author agent
+ */
+public class TrueTypeFontTest {
+
+    @Test
+    public void characterMapOfMaterialDesignIconsContainsEveryGlyph() throws Exception {
+        GlyphsPack.Type type = GlyphsPack.Type.MATERIAL_DESIGN_ICONS;
+        Map<Integer, Integer> characterMap = new TrueTypeFont(FontSubsetter.readFont(type.getFontPath())).getCharacterMap();
+        for (int codePoint : FontSubsetter.codePoints(Arrays.asList(type.getGlyphs()))) {
+            assertTrue("U+" + Integer.toHexString(codePoint), characterMap.containsKey(codePoint));
+        }
+    }
+
+    @Test
+    public void format12GroupIsCutOffAtTheLastGlyph() throws Exception {
+        Map<Integer, Integer> characterMap = new TrueTypeFont(font(3, 0x41, 0x7FFFFFFF, 1)).getCharacterMap();
+        assertEquals(2, characterMap.size());
+        assertEquals(Integer.valueOf(2), characterMap.get(0x42));
+    }
+
+    @Test(expected = IOException.class)
+    public void format12GroupEndingBeforeItsStartIsRejected() throws Exception {
+        new TrueTypeFont(font(3, 0x42, 0x41, 1)).getCharacterMap();
+    }
+
+    /**
+     * @return a font with a {@code maxp} table and a {@code cmap} with one
+     * format 12 group
+     */
+    private static ByteBuffer font(int numGlyphs, int startCharCode, int endCharCode, int startGlyphId) {
+        int maxpOffset = 12 + 2 * 16;
+        int cmapOffset = maxpOffset + 8;
+        int cmapLength = 4 + 8 + 16 + 12;
+        ByteBuffer font = ByteBuffer.allocate(cmapOffset + cmapLength);
+        font.putInt(TrueTypeFont.TRUETYPE_VERSION).putShort((short) 2).putShort((short) 32).putShort((short) 1).putShort((short) 0);
+        font.put("cmap".getBytes()).putInt(0).putInt(cmapOffset).putInt(cmapLength);
+        font.put("maxp".getBytes()).putInt(0).putInt(maxpOffset).putInt(6);
+        font.putInt(0x00005000).putShort((short) numGlyphs).putShort((short) 0);
+        font.putShort((short) 0).putShort((short) 1);
+        font.putShort((short) 3).putShort((short) 10).putInt(12);
+        font.putShort((short) 12).putShort((short) 0).putInt(28).putInt(0).putInt(1);
+        font.putInt(startCharCode).putInt(endCharCode).putInt(startGlyphId);
+        font.flip();
+        return font;
+    }
+
+}